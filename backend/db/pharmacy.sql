@@ -47,6 +47,8 @@ INSERT INTO `blogs` VALUES (1,'<p><strong>Bệnh phổi tắc nghẽn mạn tín
 /*!40000 ALTER TABLE `blogs` ENABLE KEYS */;
 UNLOCK TABLES;
 
+ALTER TABLE `blogs` ADD UNIQUE KEY `uk_blogs_slug` (`slug`);
+
 --
 -- Table structure for table `brands`
 --
@@ -73,6 +75,8 @@ INSERT INTO `brands` VALUES (1,'Ba Đình','Ba Đình','ba-nh'),(2,'Ba Dinh Phar
 /*!40000 ALTER TABLE `brands` ENABLE KEYS */;
 UNLOCK TABLES;
 
+ALTER TABLE `brands` ADD UNIQUE KEY `uk_brands_slug` (`slug`);
+
 --
 -- Table structure for table `cart_items`
 --
@@ -134,6 +138,8 @@ INSERT INTO `carts` VALUES (1,0,1),(2,0,2),(3,0,3),(4,0,4),(5,0,5),(6,0,6),(7,0,
 /*!40000 ALTER TABLE `carts` ENABLE KEYS */;
 UNLOCK TABLES;
 
+ALTER TABLE `carts` DROP COLUMN `total_price`;
+
 --
 -- Table structure for table `categories`
 --
@@ -166,6 +172,8 @@ INSERT INTO `categories` VALUES (1,'2025-07-31 16:15:30.455398','Thuốc','thuc'
 /*!40000 ALTER TABLE `categories` ENABLE KEYS */;
 UNLOCK TABLES;
 
+ALTER TABLE `categories` ADD UNIQUE KEY `uk_categories_slug` (`slug`);
+
 --
 -- Table structure for table `comments`
 --
@@ -228,6 +236,38 @@ INSERT INTO `contact` VALUES (1,_binary '','123 nguyen trai','Cần tư vấn s
 /*!40000 ALTER TABLE `contact` ENABLE KEYS */;
 UNLOCK TABLES;
 
+--
+-- Table structure for table `email_outbox`
+--
+
+DROP TABLE IF EXISTS `email_outbox`;
+/*!40101 SET @saved_cs_client     = @@character_set_client */;
+/*!50503 SET character_set_client = utf8mb4 */;
+CREATE TABLE `email_outbox` (
+  `id` bigint NOT NULL AUTO_INCREMENT,
+  `attempts` int DEFAULT NULL,
+  `body` longtext,
+  `created_at` datetime(6) DEFAULT NULL,
+  `last_error` text,
+  `next_attempt_at` datetime(6) DEFAULT NULL,
+  `recipient` varchar(255) DEFAULT NULL,
+  `sent_at` datetime(6) DEFAULT NULL,
+  `status` enum('FAILED','PENDING','SENDING','SENT') DEFAULT NULL,
+  `subject` varchar(255) DEFAULT NULL,
+  PRIMARY KEY (`id`),
+  KEY `idx_email_outbox_status_next_attempt` (`status`,`next_attempt_at`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+/*!40101 SET character_set_client = @saved_cs_client */;
+
+--
+-- Dumping data for table `email_outbox`
+--
+
+LOCK TABLES `email_outbox` WRITE;
+/*!40000 ALTER TABLE `email_outbox` DISABLE KEYS */;
+/*!40000 ALTER TABLE `email_outbox` ENABLE KEYS */;
+UNLOCK TABLES;
+
 --
 -- Table structure for table `file_meta_data`
 --
@@ -259,6 +299,9 @@ INSERT INTO `file_meta_data` VALUES (_binary '\0I
 /*!40000 ALTER TABLE `file_meta_data` ENABLE KEYS */;
 UNLOCK TABLES;
 
+ALTER TABLE `file_meta_data` ADD COLUMN `checksum` varchar(64) DEFAULT NULL;
+ALTER TABLE `file_meta_data` ADD COLUMN `reference_count` int NOT NULL DEFAULT 1, ADD KEY `idx_file_meta_data_checksum` (`checksum`);
+
 --
 -- Table structure for table `homepage`
 --
@@ -314,6 +357,26 @@ LOCK TABLES `invalidated_tokens` WRITE;
 /*!40000 ALTER TABLE `invalidated_tokens` ENABLE KEYS */;
 UNLOCK TABLES;
 
+--
+-- Table structure for table `order_daily_statistic`
+--
+
+DROP TABLE IF EXISTS `order_daily_statistic`;
+/*!40101 SET @saved_cs_client     = @@character_set_client */;
+/*!50503 SET character_set_client = utf8mb4 */;
+CREATE TABLE `order_daily_statistic` (
+  `id` bigint NOT NULL AUTO_INCREMENT,
+  `stat_date` date NOT NULL,
+  `payment_method` enum('MOMO','OFFLINE','ONLINE','VNPAY') NOT NULL,
+  `order_count` bigint NOT NULL DEFAULT '0',
+  `delivered_count` bigint NOT NULL DEFAULT '0',
+  `revenue` bigint NOT NULL DEFAULT '0',
+  `paid_revenue` bigint NOT NULL DEFAULT '0',
+  PRIMARY KEY (`id`),
+  UNIQUE KEY `uk_order_daily_statistic_date_method` (`stat_date`,`payment_method`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+/*!40101 SET character_set_client = @saved_cs_client */;
+
 --
 -- Table structure for table `order_details`
 --
@@ -507,6 +570,8 @@ INSERT INTO `products` VALUES (1,_binary '','LEVONORGESTREL','2025-07-31 18:19:
 /*!40000 ALTER TABLE `products` ENABLE KEYS */;
 UNLOCK TABLES;
 
+ALTER TABLE `products` ADD UNIQUE KEY `uk_products_slug` (`slug`);
+
 --
 -- Table structure for table `profiles`
 --
@@ -563,6 +628,20 @@ INSERT INTO `roles` VALUES (1,'ADMIN','Administrator with full system access','A
 /*!40000 ALTER TABLE `roles` ENABLE KEYS */;
 UNLOCK TABLES;
 
+--
+-- Table structure for table `statistic_counter`
+--
+
+DROP TABLE IF EXISTS `statistic_counter`;
+/*!40101 SET @saved_cs_client     = @@character_set_client */;
+/*!50503 SET character_set_client = utf8mb4 */;
+CREATE TABLE `statistic_counter` (
+  `name` enum('PRODUCT','USER') NOT NULL,
+  `total` bigint NOT NULL DEFAULT '0',
+  PRIMARY KEY (`name`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+/*!40101 SET character_set_client = @saved_cs_client */;
+
 --
 -- Table structure for table `user_roles`
 --
@@ -650,6 +729,20 @@ LOCK TABLES `wishlists` WRITE;
 INSERT INTO `wishlists` VALUES (1,'2025-07-31 21:21:16.752421','2025-07-31 21:21:16.752421',12,42),(5,'2025-07-31 21:38:38.204621','2025-07-31 21:38:38.204621',21,42),(7,'2025-07-31 22:40:21.085034','2025-07-31 22:40:21.085034',9,42),(8,'2025-07-31 22:40:37.668285','2025-07-31 22:40:37.668285',4,42),(9,'2025-07-31 22:42:46.157592','2025-07-31 22:42:46.157592',1,42),(10,'2025-07-31 22:51:51.554778','2025-07-31 22:51:51.554778',17,42);
 /*!40000 ALTER TABLE `wishlists` ENABLE KEYS */;
 UNLOCK TABLES;
+
+--
+-- Backfill statistics from existing rows
+--
+
+INSERT INTO `order_daily_statistic` (`stat_date`,`payment_method`,`order_count`,`delivered_count`,`revenue`,`paid_revenue`)
+SELECT DATE(`created_at`),`payment_method`,COUNT(*),
+       SUM(`status` = 'DELIVERED'),
+       COALESCE(SUM(CASE WHEN `status` = 'DELIVERED' THEN `total_price` END),0),
+       COALESCE(SUM(CASE WHEN `payment_status` = 'COMPLETED' THEN `total_price` END),0)
+FROM `orders` WHERE `created_at` IS NOT NULL AND `payment_method` IS NOT NULL
+GROUP BY DATE(`created_at`),`payment_method`;
+INSERT INTO `statistic_counter` VALUES ('PRODUCT',(SELECT COUNT(*) FROM `products`)),('USER',(SELECT COUNT(*) FROM `users`));
+
 /*!40103 SET TIME_ZONE=@OLD_TIME_ZONE */;
 
 /*!40101 SET SQL_MODE=@OLD_SQL_MODE */;
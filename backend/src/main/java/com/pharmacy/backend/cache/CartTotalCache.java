@@ -0,0 +1,104 @@
+package com.pharmacy.backend.cache;
+
+import com.pharmacy.backend.repository.CartItemRepository;
+import com.pharmacy.backend.utils.TransactionUtils;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+@Component
+@RequiredArgsConstructor
+public class CartTotalCache {
+    private final CartItemRepository cartItemRepository;
+
+    private final AtomicLong globalVersion = new AtomicLong();
+    private final Map<Long, Long> userVersions = new ConcurrentHashMap<>();
+
+    @Value("${cart.total-cache.max-size:10000}")
+    private int maxSize;
+
+    @Value("${cart.item-count-cache.enabled:true}")
+    private boolean itemCountCacheEnabled;
+
+    private final Map<Long, Long> entries = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Long> eldest) {
+            return size() > maxSize;
+        }
+    };
+
+    private final Map<Long, Long> itemCounts = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Long> eldest) {
+            return size() > maxSize;
+        }
+    };
+
+    public long getSelectedTotal(Long userId) {
+        return lookup(entries, userId, this::calculateSelectedTotal);
+    }
+
+    public long getItemCount(Long userId) {
+        if (!itemCountCacheEnabled) {
+            return cartItemRepository.sumQuantityByUserId(userId);
+        }
+        return lookup(itemCounts, userId, cartItemRepository::sumQuantityByUserId);
+    }
+
+    public long calculateSelectedTotal(Long userId) {
+        return cartItemRepository.sumSelectedTotalByUserId(userId);
+    }
+
+    public void invalidate(Long userId) {
+        TransactionUtils.afterCommit(() -> {
+            synchronized (entries) {
+                if (userVersions.size() >= maxSize) {
+                    globalVersion.incrementAndGet();
+                    userVersions.clear();
+                }
+                userVersions.merge(userId, 1L, Long::sum);
+                entries.remove(userId);
+                itemCounts.remove(userId);
+            }
+        });
+    }
+
+    public void invalidateAll() {
+        TransactionUtils.afterCommit(() -> {
+            synchronized (entries) {
+                globalVersion.incrementAndGet();
+                userVersions.clear();
+                entries.clear();
+                itemCounts.clear();
+            }
+        });
+    }
+
+    private long lookup(Map<Long, Long> cache, Long userId, Function<Long, Long> loader) {
+        long readGlobalVersion;
+        long readUserVersion;
+        synchronized (entries) {
+            readGlobalVersion = globalVersion.get();
+            readUserVersion = userVersions.getOrDefault(userId, 0L);
+            Long cached = cache.get(userId);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        long value = loader.apply(userId);
+        synchronized (entries) {
+            if (globalVersion.get() == readGlobalVersion
+                    && userVersions.getOrDefault(userId, 0L) == readUserVersion) {
+                cache.put(userId, value);
+            }
+        }
+        return value;
+    }
+}
@@ -0,0 +1,60 @@
+package com.pharmacy.backend.cache;
+
+import com.pharmacy.backend.enums.CatalogAreaEnum;
+import com.pharmacy.backend.utils.TransactionUtils;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+@RequiredArgsConstructor
+public class CatalogVersionCache {
+    private final TaskScheduler taskScheduler;
+
+    @Value("${spring.datasource.replica.url:}")
+    private String replicaUrl;
+
+    @Value("${spring.datasource.replica.max-lag-seconds:5}")
+    private long replicaMaxLagSeconds;
+
+    private final String instanceEpoch = UUID.randomUUID().toString();
+    private final Map<CatalogAreaEnum, AtomicLong> versions = new EnumMap<>(CatalogAreaEnum.class);
+
+    {
+        for (CatalogAreaEnum area : CatalogAreaEnum.values()) {
+            versions.put(area, new AtomicLong());
+        }
+    }
+
+    public void bump(CatalogAreaEnum area) {
+        TransactionUtils.afterCommit(() -> {
+            versions.get(area).incrementAndGet();
+            if (!replicaUrl.isBlank()) {
+                taskScheduler.schedule(() -> versions.get(area).incrementAndGet(),
+                        Instant.now().plus(Duration.ofSeconds(replicaMaxLagSeconds)));
+            }
+        });
+    }
+
+    public String etag(Collection<CatalogAreaEnum> areas, Long userId) {
+        StringBuilder key = new StringBuilder(instanceEpoch);
+        for (CatalogAreaEnum area : areas) {
+            key.append(':').append(area.name()).append('=').append(versions.get(area).get());
+        }
+        if (userId != null) {
+            key.append(":user=").append(userId);
+        }
+        return "W/\"" + DigestUtils.md5DigestAsHex(key.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+}
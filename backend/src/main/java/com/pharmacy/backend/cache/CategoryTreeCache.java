@@ -0,0 +1,140 @@
+package com.pharmacy.backend.cache;
+
+import com.pharmacy.backend.dto.response.CategoryResponse;
+import com.pharmacy.backend.entity.Category;
+import com.pharmacy.backend.enums.CategoryTypeEnum;
+import com.pharmacy.backend.exception.AppException;
+import com.pharmacy.backend.mapper.CategoryMapper;
+import com.pharmacy.backend.repository.CategoryRepository;
+import com.pharmacy.backend.service.FileMetadataService;
+import com.pharmacy.backend.utils.TransactionUtils;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CategoryTreeCache {
+    private final CategoryRepository categoryRepository;
+    private final CategoryMapper categoryMapper;
+    private final FileMetadataService fileMetadataService;
+    private final PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate primaryTransaction;
+    private final AtomicLong version = new AtomicLong();
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+
+    @PostConstruct
+    void start() {
+        primaryTransaction = new TransactionTemplate(transactionManager);
+        primaryTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public List<CategoryResponse> getAll() {
+        return current().all();
+    }
+
+    public List<CategoryResponse> getByType(CategoryTypeEnum type) {
+        return type == CategoryTypeEnum.BLOG ? current().blogs() : current().products();
+    }
+
+    public void invalidate() {
+        TransactionUtils.afterCommit(this::refresh);
+    }
+
+    private void refresh() {
+        version.incrementAndGet();
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            log.warn("Could not rebuild category tree, it will be rebuilt on next read", e);
+        }
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot.get();
+        if (current != null && current.version() == version.get()) {
+            return current;
+        }
+        return rebuild();
+    }
+
+    private Snapshot rebuild() {
+        return primaryTransaction.execute(status -> build());
+    }
+
+    private Snapshot build() {
+        long buildVersion = version.get();
+        List<Category> categories = categoryRepository.findAll();
+        List<String> thumbnails = categories.stream()
+                .map(Category::getThumbnail)
+                .toList();
+        Map<String, String> thumbnailUrls = fileMetadataService.getFileUrls(thumbnails);
+        Map<String, Map<String, String>> thumbnailVariants = fileMetadataService.getFileVariants(thumbnails);
+
+        Snapshot built = new Snapshot(
+                buildVersion,
+                buildTree(categories, thumbnailUrls, thumbnailVariants),
+                buildTree(filterByType(categories, CategoryTypeEnum.PRODUCT), thumbnailUrls, thumbnailVariants),
+                buildTree(filterByType(categories, CategoryTypeEnum.BLOG), thumbnailUrls, thumbnailVariants)
+        );
+        Snapshot published = snapshot.accumulateAndGet(built,
+                (existing, candidate) -> existing == null || existing.version() <= candidate.version() ? candidate : existing);
+        log.debug("Rebuilt category tree snapshot version {}", buildVersion);
+        return published;
+    }
+
+    private List<Category> filterByType(List<Category> categories, CategoryTypeEnum type) {
+        return categories.stream()
+                .filter(category -> category.getType() == type)
+                .toList();
+    }
+
+    private List<CategoryResponse> buildTree(List<Category> allCategories, Map<String, String> thumbnailUrls,
+                                             Map<String, Map<String, String>> thumbnailVariants) {
+        Map<Long, CategoryResponse> map = new HashMap<>();
+        List<CategoryResponse> roots = new ArrayList<>();
+
+        for (Category c : allCategories) {
+            CategoryResponse dto = categoryMapper.toCategoryResponse(c);
+            if (c.getThumbnail() == null || !thumbnailUrls.containsKey(c.getThumbnail())) {
+                throw new AppException(HttpStatus.NOT_FOUND, "Thumbnail không tồn tại", "Thumbnail not found");
+            }
+            dto.setThumbnail(thumbnailUrls.get(c.getThumbnail()));
+            dto.setThumbnailVariants(thumbnailVariants.getOrDefault(c.getThumbnail(), Map.of()));
+            dto.setChildren(new ArrayList<>());
+            map.put(c.getId(), dto);
+        }
+
+        for (Category c : allCategories) {
+            Long parentId = c.getParent() != null ? c.getParent().getId() : null;
+            if (parentId == null) {
+                roots.add(map.get(c.getId()));
+            } else {
+                CategoryResponse parent = map.get(parentId);
+                if (parent != null) {
+                    parent.getChildren().add(map.get(c.getId()));
+                }
+            }
+        }
+
+        map.values().forEach(dto -> dto.setChildren(List.copyOf(dto.getChildren())));
+        return List.copyOf(roots);
+    }
+
+    private record Snapshot(long version,
+                            List<CategoryResponse> all,
+                            List<CategoryResponse> products,
+                            List<CategoryResponse> blogs) {
+    }
+}
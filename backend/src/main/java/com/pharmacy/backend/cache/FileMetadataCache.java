@@ -0,0 +1,153 @@
+package com.pharmacy.backend.cache;
+
+import com.pharmacy.backend.dto.response.CacheStatsResponse;
+import com.pharmacy.backend.entity.FileMetadata;
+import com.pharmacy.backend.repository.FileMetadataRepository;
+import com.pharmacy.backend.utils.TransactionUtils;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
+
+@Component
+@RequiredArgsConstructor
+public class FileMetadataCache {
+    private final FileMetadataRepository fileMetadataRepository;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    @Value("${file.cache.max-size:10000}")
+    private int maxSize;
+
+    private final Map<UUID, Snapshot> entries = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<UUID, Snapshot> eldest) {
+            if (size() > maxSize) {
+                evictions.increment();
+                return true;
+            }
+            return false;
+        }
+    };
+
+    public Optional<FileMetadata> findByUuid(UUID uuid) {
+        Snapshot cached;
+        synchronized (entries) {
+            cached = entries.get(uuid);
+        }
+        if (cached != null) {
+            hits.increment();
+            return Optional.of(cached.toFileMetadata());
+        }
+
+        misses.increment();
+        Optional<FileMetadata> fileMetadata = fileMetadataRepository.findByUuid(uuid);
+        fileMetadata.ifPresent(this::cache);
+        return fileMetadata;
+    }
+
+    public Map<UUID, FileMetadata> findAllByUuidIn(Collection<UUID> uuids) {
+        Map<UUID, FileMetadata> result = new HashMap<>();
+        Set<UUID> missing = new HashSet<>();
+        synchronized (entries) {
+            for (UUID uuid : uuids) {
+                Snapshot cached = entries.get(uuid);
+                if (cached != null) {
+                    result.put(uuid, cached.toFileMetadata());
+                } else {
+                    missing.add(uuid);
+                }
+            }
+        }
+        hits.add(result.size());
+        misses.add(missing.size());
+
+        if (!missing.isEmpty()) {
+            fileMetadataRepository.findAllByUuidIn(missing).forEach(fileMetadata -> {
+                cache(fileMetadata);
+                result.put(fileMetadata.getUuid(), fileMetadata);
+            });
+        }
+        return result;
+    }
+
+    public void put(FileMetadata fileMetadata) {
+        Snapshot snapshot = Snapshot.of(fileMetadata);
+        TransactionUtils.afterCommit(() -> {
+            synchronized (entries) {
+                entries.put(snapshot.uuid(), snapshot);
+            }
+        });
+    }
+
+    public void evict(UUID uuid) {
+        synchronized (entries) {
+            entries.remove(uuid);
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionUtils.afterCommit(() -> {
+                synchronized (entries) {
+                    entries.remove(uuid);
+                }
+            });
+        }
+    }
+
+    public CacheStatsResponse getStats() {
+        long size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long total = hitCount + missCount;
+        return CacheStatsResponse.builder()
+                .name("file-metadata")
+                .size(size)
+                .maxSize(maxSize)
+                .hits(hitCount)
+                .misses(missCount)
+                .evictions(evictions.sum())
+                .hitRate(total == 0 ? 0 : (double) hitCount / total)
+                .build();
+    }
+
+    private void cache(FileMetadata fileMetadata) {
+        Snapshot snapshot = Snapshot.of(fileMetadata);
+        synchronized (entries) {
+            entries.put(snapshot.uuid(), snapshot);
+        }
+    }
+
+    private record Snapshot(UUID uuid, String originalFileName, String storedFileName, String url, String fileExtension,
+                            long fileSize, String contentType, String fileType, String checksum, LocalDateTime createdAt) {
+
+        static Snapshot of(FileMetadata fileMetadata) {
+            return new Snapshot(fileMetadata.getUuid(), fileMetadata.getOriginalFileName(), fileMetadata.getStoredFileName(),
+                    fileMetadata.getUrl(), fileMetadata.getFileExtension(), fileMetadata.getFileSize(),
+                    fileMetadata.getContentType(), fileMetadata.getFileType(), fileMetadata.getChecksum(),
+                    fileMetadata.getCreatedAt());
+        }
+
+        FileMetadata toFileMetadata() {
+            return FileMetadata.builder()
+                    .uuid(uuid)
+                    .originalFileName(originalFileName)
+                    .storedFileName(storedFileName)
+                    .url(url)
+                    .fileExtension(fileExtension)
+                    .fileSize(fileSize)
+                    .contentType(contentType)
+                    .fileType(fileType)
+                    .checksum(checksum)
+                    .createdAt(createdAt)
+                    .build();
+        }
+    }
+}
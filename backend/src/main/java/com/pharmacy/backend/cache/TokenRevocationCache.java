@@ -0,0 +1,164 @@
+package com.pharmacy.backend.cache;
+
+import com.pharmacy.backend.entity.InvalidatedToken;
+import com.pharmacy.backend.entity.User;
+import com.pharmacy.backend.repository.InvalidatedTokenRepository;
+import com.pharmacy.backend.repository.UserRepository;
+import com.pharmacy.backend.utils.TransactionUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TokenRevocationCache {
+    private static final int HASH_FUNCTIONS = 5;
+
+    private final InvalidatedTokenRepository invalidatedTokenRepository;
+    private final UserRepository userRepository;
+
+    @Value("${jwt.revocation.bloom-bits:1048576}")
+    private int bloomBits;
+
+    @Value("${jwt.token-version-cache.max-size:10000}")
+    private int maxTokenVersions;
+
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+    private volatile AtomicLongArray bloom = new AtomicLongArray(1);
+
+    private final AtomicLong globalGeneration = new AtomicLong();
+    private final Map<Long, Long> userGenerations = new ConcurrentHashMap<>();
+
+    private final Map<Long, Integer> tokenVersions = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Integer> eldest) {
+            return size() > maxTokenVersions;
+        }
+    };
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void load() {
+        revoked.clear();
+        invalidatedTokenRepository.findAllByExpirationTimeAfter(new Date())
+                .forEach(token -> revoked.put(token.getId(), token.getExpirationTime().getTime()));
+        rebuildBloom();
+        log.info("Loaded {} revoked tokens", revoked.size());
+    }
+
+    public boolean isRevoked(String jti) {
+        if (jti == null || !mightContain(bloom, jti)) {
+            return false;
+        }
+        return revoked.containsKey(jti);
+    }
+
+    public void revoke(String jti, Date expirationTime) {
+        invalidatedTokenRepository.save(new InvalidatedToken(jti, expirationTime));
+        TransactionUtils.afterCommit(() -> markRevoked(jti, expirationTime));
+    }
+
+    public Optional<Integer> getTokenVersion(Long userId) {
+        long readGlobalGeneration;
+        long readUserGeneration;
+        synchronized (tokenVersions) {
+            readGlobalGeneration = globalGeneration.get();
+            readUserGeneration = userGenerations.getOrDefault(userId, 0L);
+            Integer cached = tokenVersions.get(userId);
+            if (cached != null) {
+                return Optional.of(cached);
+            }
+        }
+
+        Optional<Integer> tokenVersion = userRepository.findById(userId).map(User::getTokenVersion);
+        tokenVersion.ifPresent(version -> {
+            synchronized (tokenVersions) {
+                if (globalGeneration.get() == readGlobalGeneration
+                        && userGenerations.getOrDefault(userId, 0L) == readUserGeneration) {
+                    tokenVersions.put(userId, version);
+                }
+            }
+        });
+        return tokenVersion;
+    }
+
+    public void evictTokenVersion(Long userId) {
+        evict(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionUtils.afterCommit(() -> evict(userId));
+        }
+    }
+
+    @Scheduled(cron = "0 0 * * * *")
+    public synchronized void purgeExpired() {
+        long now = System.currentTimeMillis();
+        revoked.values().removeIf(expiresAt -> expiresAt < now);
+        rebuildBloom();
+    }
+
+    private void evict(Long userId) {
+        synchronized (tokenVersions) {
+            if (userGenerations.size() >= maxTokenVersions) {
+                globalGeneration.incrementAndGet();
+                userGenerations.clear();
+            }
+            userGenerations.merge(userId, 1L, Long::sum);
+            tokenVersions.remove(userId);
+        }
+    }
+
+    private synchronized void markRevoked(String jti, Date expirationTime) {
+        revoked.put(jti, expirationTime != null ? expirationTime.getTime() : Long.MAX_VALUE);
+        add(bloom, jti);
+    }
+
+    private void rebuildBloom() {
+        AtomicLongArray rebuilt = new AtomicLongArray(Math.max(1, bloomBits / Long.SIZE));
+        revoked.keySet().forEach(jti -> add(rebuilt, jti));
+        bloom = rebuilt;
+    }
+
+    private static void add(AtomicLongArray bits, String jti) {
+        long size = (long) bits.length() * Long.SIZE;
+        int h1 = jti.hashCode();
+        int h2 = mix(h1);
+        for (int i = 0; i < HASH_FUNCTIONS; i++) {
+            long bit = Math.floorMod(h1 + (long) i * h2, size);
+            int index = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            bits.getAndUpdate(index, word -> word | mask);
+        }
+    }
+
+    private static boolean mightContain(AtomicLongArray bits, String jti) {
+        long size = (long) bits.length() * Long.SIZE;
+        int h1 = jti.hashCode();
+        int h2 = mix(h1);
+        for (int i = 0; i < HASH_FUNCTIONS; i++) {
+            long bit = Math.floorMod(h1 + (long) i * h2, size);
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int mix(int hash) {
+        hash ^= hash >>> 16;
+        hash *= 0x85ebca6b;
+        hash ^= hash >>> 13;
+        hash *= 0xc2b2ae35;
+        hash ^= hash >>> 16;
+        return hash | 1;
+    }
+}
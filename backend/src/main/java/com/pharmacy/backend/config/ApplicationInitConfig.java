@@ -6,6 +6,7 @@ import com.pharmacy.backend.entity.Role;
 import com.pharmacy.backend.entity.User;
 import com.pharmacy.backend.enums.FileCategoryEnum;
 import com.pharmacy.backend.enums.RoleCodeEnum;
+import com.pharmacy.backend.enums.StatisticCounterEnum;
 import com.pharmacy.backend.exception.AppException;
 import com.pharmacy.backend.mapper.UserMapper;
 import com.pharmacy.backend.repository.FileMetadataRepository;
@@ -13,6 +14,7 @@ import com.pharmacy.backend.repository.RoleRepository;
 import com.pharmacy.backend.repository.UserRepository;
 import com.pharmacy.backend.service.AuthService;
 import com.pharmacy.backend.service.FileMetadataService;
+import com.pharmacy.backend.service.StatisticService;
 import com.pharmacy.backend.service.UserService;
 import lombok.RequiredArgsConstructor;
 import net.datafaker.Faker;
@@ -33,6 +35,7 @@ public class ApplicationInitConfig {
     private final UserRepository userRepository;
     private final FileMetadataRepository fileMetadataRepository;
     private final UserMapper userMapper;
+    private final StatisticService statisticService;
     @Value("${default-admin.email}")
     private String email;
     @Value("${default-admin.password}")
@@ -72,6 +75,7 @@ public class ApplicationInitConfig {
                 fileMetadata = fileMetadataRepository.save(fileMetadata);
                 user.setProfilePic(fileMetadata.getUuid().toString());
                 repository.save(user);
+                statisticService.recordCounter(StatisticCounterEnum.USER, 1);
             }
 
 
@@ -0,0 +1,48 @@
+package com.pharmacy.backend.config;
+
+import com.pharmacy.backend.cache.CatalogVersionCache;
+import com.pharmacy.backend.enums.CatalogAreaEnum;
+import com.pharmacy.backend.etag.CatalogEtagInterceptor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+import java.util.List;
+
+@Configuration
+@RequiredArgsConstructor
+public class WebMvcConfig implements WebMvcConfigurer {
+    private final CatalogVersionCache catalogVersionCache;
+
+    @Value("${catalog.http-cache.max-age-seconds:0}")
+    private long maxAgeSeconds;
+
+    @Value("${catalog.http-cache.shared-max-age-seconds:60}")
+    private long sharedMaxAgeSeconds;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        CacheControl cacheControl = CacheControl.maxAge(Duration.ofSeconds(maxAgeSeconds))
+                .sMaxAge(Duration.ofSeconds(sharedMaxAgeSeconds))
+                .cachePublic()
+                .mustRevalidate();
+
+        registry.addInterceptor(new CatalogEtagInterceptor(catalogVersionCache,
+                        List.of(CatalogAreaEnum.PRODUCT, CatalogAreaEnum.BRAND, CatalogAreaEnum.CATEGORY), true, cacheControl))
+                .addPathPatterns("/api/v1/products", "/api/v1/products/slug/{slug}",
+                        "/api/v1/products/rank/suggestions/top15", "/api/v1/products/brand/suggestions/top15");
+        registry.addInterceptor(new CatalogEtagInterceptor(catalogVersionCache,
+                        List.of(CatalogAreaEnum.CATEGORY), false, cacheControl))
+                .addPathPatterns("/api/v1/categories", "/api/v1/categories/parent/{parentSlug}");
+        registry.addInterceptor(new CatalogEtagInterceptor(catalogVersionCache,
+                        List.of(CatalogAreaEnum.BRAND), false, cacheControl))
+                .addPathPatterns("/api/v1/brands/customer/public");
+        registry.addInterceptor(new CatalogEtagInterceptor(catalogVersionCache,
+                        List.of(CatalogAreaEnum.BLOG, CatalogAreaEnum.CATEGORY), false, cacheControl))
+                .addPathPatterns("/api/v1/blogs", "/api/v1/blogs/slug/{slug}");
+    }
+}
@@ -0,0 +1,25 @@
+package com.pharmacy.backend.controller;
+
+import com.pharmacy.backend.dto.response.ApiResponse;
+import com.pharmacy.backend.dto.response.EmailOutboxStatsResponse;
+import com.pharmacy.backend.service.EmailService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+
+@Controller
+@RequiredArgsConstructor
+@RequestMapping("/api/v1/emails")
+public class EmailController {
+    private final EmailService emailService;
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/outbox/stats")
+    public ResponseEntity<ApiResponse<EmailOutboxStatsResponse>> getOutboxStats() {
+        ApiResponse<EmailOutboxStatsResponse> response = emailService.getOutboxStats();
+        return ResponseEntity.status(response.getStatus()).body(response);
+    }
+}
@@ -1,16 +1,22 @@
 package com.pharmacy.backend.controller;
 
 import com.pharmacy.backend.dto.response.ApiResponse;
+import com.pharmacy.backend.dto.response.CacheStatsResponse;
 import com.pharmacy.backend.dto.response.FileMetadataResponse;
+import com.pharmacy.backend.dto.response.FileResourceResponse;
 import com.pharmacy.backend.service.FileMetadataService;
 import lombok.RequiredArgsConstructor;
-import org.springframework.core.io.FileSystemResource;
-import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
+import org.springframework.core.io.Resource;
+import org.springframework.http.*;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
 
 @Controller
 @RequiredArgsConstructor
@@ -26,18 +32,38 @@ public class FileController {
     }
 
     @GetMapping("/download/{uuid}")
-    public ResponseEntity<FileSystemResource> downloadFile(@PathVariable String uuid) {
-        FileSystemResource resource = fileMetadataService.downloadFile(uuid);
+    public ResponseEntity<Resource> downloadFile(@PathVariable String uuid) {
+        FileResourceResponse file = fileMetadataService.downloadFile(uuid);
+        if (file.getResource() == null) {
+            return ResponseEntity.status(HttpStatus.FOUND).location(URI.create(file.getUrl())).build();
+        }
         return ResponseEntity.ok()
-                .contentType(MediaType.valueOf("image/jpeg"))
-                .body(resource);
+                .contentType(MediaType.parseMediaType(file.getContentType()))
+                .eTag(file.getEtag())
+                .cacheControl(CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable())
+                .body(file.getResource());
     }
 
     @GetMapping("/load/{uuid}")
-    public ResponseEntity<FileSystemResource> loadFile(@PathVariable String uuid) {
-        FileSystemResource resource = fileMetadataService.loadFile(uuid);
-        return ResponseEntity.ok().
-                contentType(MediaType.APPLICATION_OCTET_STREAM)
-                .body(resource);
+    public ResponseEntity<Resource> loadFile(@PathVariable String uuid) {
+        FileResourceResponse file = fileMetadataService.loadFile(uuid);
+        if (file.getResource() == null) {
+            return ResponseEntity.status(HttpStatus.FOUND).location(URI.create(file.getUrl())).build();
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(file.getOriginalFileName(), StandardCharsets.UTF_8)
+                        .build()
+                        .toString())
+                .eTag(file.getEtag())
+                .body(file.getResource());
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/cache/stats")
+    public ResponseEntity<ApiResponse<CacheStatsResponse>> getCacheStats() {
+        ApiResponse<CacheStatsResponse> response = fileMetadataService.getCacheStats();
+        return ResponseEntity.status(response.getStatus()).body(response);
     }
 }
@@ -5,16 +5,24 @@ import com.pharmacy.backend.dto.request.ProductFilterCustomerRequest;
 import com.pharmacy.backend.dto.request.ProductRequest;
 import com.pharmacy.backend.dto.response.ApiResponse;
 import com.pharmacy.backend.dto.response.PageResponse;
+import com.pharmacy.backend.dto.response.ProductImportJobResponse;
 import com.pharmacy.backend.dto.response.ProductResponse;
+import com.pharmacy.backend.dto.response.ProductSummaryResponse;
 import com.pharmacy.backend.service.ProductService;
+import com.pharmacy.backend.service.ProductTransferService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 @Controller
@@ -22,18 +30,19 @@ import java.util.List;
 @RequestMapping("/api/v1/products")
 public class ProductController {
     private final ProductService productService;
+    private final ProductTransferService productTransferService;
 
     @GetMapping
-    public ResponseEntity<ApiResponse<PageResponse<List<ProductResponse>>>> getAllActiveProducts(@RequestParam(defaultValue = "1", required = false) int pageIndex,
+    public ResponseEntity<ApiResponse<PageResponse<List<ProductSummaryResponse>>>> getAllActiveProducts(@RequestParam(defaultValue = "1", required = false) int pageIndex,
                                                                                     @RequestParam(defaultValue = "10", required = false) int pageSize,
                                                                                      @ModelAttribute ProductFilterCustomerRequest filterRequest) {
-        ApiResponse<PageResponse<List<ProductResponse>>> response = productService.getAllActiveProduct(pageIndex, pageSize, filterRequest);
+        ApiResponse<PageResponse<List<ProductSummaryResponse>>> response = productService.getAllActiveProduct(pageIndex, pageSize, filterRequest);
         return ResponseEntity.status(response.getStatus()).body(response);
     }
 
     @GetMapping("/rank/suggestions/top15")
-    public ResponseEntity<ApiResponse<List<ProductResponse>>> getTop15ProductsByNumberOfLikes() {
-        ApiResponse<List<ProductResponse>> response = productService.getTop15ProductsByNumberOfLikes();
+    public ResponseEntity<ApiResponse<List<ProductSummaryResponse>>> getTop15ProductsByNumberOfLikes() {
+        ApiResponse<List<ProductSummaryResponse>> response = productService.getTop15ProductsByNumberOfLikes();
         return ResponseEntity.status(response.getStatus()).body(response);
     }
 
@@ -100,8 +109,34 @@ public class ProductController {
     }
 
     @GetMapping("/brand/suggestions/top15")
-    public ResponseEntity<ApiResponse<List<ProductResponse>>> get15ProductByBrand(@RequestParam Long brandId) {
-        ApiResponse<List<ProductResponse>> response = productService.get15ProductByBrand(brandId);
+    public ResponseEntity<ApiResponse<List<ProductSummaryResponse>>> get15ProductByBrand(@RequestParam Long brandId) {
+        ApiResponse<List<ProductSummaryResponse>> response = productService.get15ProductByBrand(brandId);
         return ResponseEntity.status(response.getStatus()).body(response);
     }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/import")
+    public ResponseEntity<ApiResponse<ProductImportJobResponse>> importProducts(@RequestParam("file") MultipartFile file) {
+        ApiResponse<ProductImportJobResponse> response = productTransferService.startImport(file);
+        return ResponseEntity.status(response.getStatus()).body(response);
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/import/{jobId}")
+    public ResponseEntity<ApiResponse<ProductImportJobResponse>> getImportJob(@PathVariable String jobId) {
+        ApiResponse<ProductImportJobResponse> response = productTransferService.getImportJob(jobId);
+        return ResponseEntity.status(response.getStatus()).body(response);
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportProducts() {
+        return ResponseEntity.ok()
+                .contentType(new MediaType("text", "csv", StandardCharsets.UTF_8))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("products.csv")
+                        .build()
+                        .toString())
+                .body(productTransferService::exportProducts);
+    }
 }
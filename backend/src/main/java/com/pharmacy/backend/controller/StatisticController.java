@@ -0,0 +1,42 @@
+package com.pharmacy.backend.controller;
+
+import com.pharmacy.backend.dto.response.ApiResponse;
+import com.pharmacy.backend.dto.response.RevenueStatisticResponse;
+import com.pharmacy.backend.service.StatisticService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Controller
+@RequiredArgsConstructor
+@RequestMapping("/api/v1/statistics")
+public class StatisticController {
+    private final StatisticService statisticService;
+
+    @PreAuthorize("hasRole('ADMIN') or hasRole('STAFF')")
+    @GetMapping("/revenue")
+    public ResponseEntity<ApiResponse<List<RevenueStatisticResponse>>> getRevenueByPeriod(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate,
+            @RequestParam(defaultValue = "day", required = false) String groupBy) {
+        ApiResponse<List<RevenueStatisticResponse>> response = statisticService.getRevenueByPeriod(fromDate, toDate, groupBy);
+        return ResponseEntity.status(response.getStatus()).body(response);
+    }
+
+    @PreAuthorize("hasRole('ADMIN') or hasRole('STAFF')")
+    @GetMapping("/revenue/payment-method")
+    public ResponseEntity<ApiResponse<List<RevenueStatisticResponse>>> getRevenueByPaymentMethod(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate) {
+        ApiResponse<List<RevenueStatisticResponse>> response = statisticService.getRevenueByPaymentMethod(fromDate, toDate);
+        return ResponseEntity.status(response.getStatus()).body(response);
+    }
+}
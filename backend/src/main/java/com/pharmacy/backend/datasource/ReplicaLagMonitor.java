@@ -0,0 +1,52 @@
+package com.pharmacy.backend.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+
+@Slf4j
+public class ReplicaLagMonitor {
+    private final JdbcTemplate replicaJdbcTemplate;
+    private final long maxLagSeconds;
+
+    private volatile boolean replicaUsable = false;
+
+    public ReplicaLagMonitor(DataSource replicaDataSource, long maxLagSeconds) {
+        this.replicaJdbcTemplate = new JdbcTemplate(replicaDataSource);
+        this.maxLagSeconds = maxLagSeconds;
+    }
+
+    public boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+
+    @Scheduled(fixedDelayString = "${spring.datasource.replica.lag-check-interval-ms:5000}")
+    public void checkLag() {
+        boolean usable;
+        try {
+            Long lag = replicaJdbcTemplate.query("SHOW REPLICA STATUS", rs -> {
+                if (!rs.next()) {
+                    return null;
+                }
+                long seconds = rs.getLong("Seconds_Behind_Source");
+                return rs.wasNull() ? null : seconds;
+            });
+            usable = lag != null && lag <= maxLagSeconds;
+            if (lag == null) {
+                log.warn("Replica is not replicating, routing reads to primary");
+            } else if (!usable) {
+                log.warn("Replica lag {}s exceeds {}s, routing reads to primary", lag, maxLagSeconds);
+            }
+        } catch (RuntimeException e) {
+            usable = false;
+            log.warn("Could not check replica lag, routing reads to primary", e);
+        }
+
+        if (usable && !replicaUsable) {
+            log.info("Replica is in sync, routing read-only transactions to replica");
+        }
+        replicaUsable = usable;
+    }
+}
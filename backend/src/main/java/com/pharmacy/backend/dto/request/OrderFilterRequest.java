@@ -18,4 +18,6 @@ public class OrderFilterRequest {
     private String customerPhoneNumber;
     private LocalDateTime fromDate;
     private LocalDateTime toDate;
+    private String cursor;
+    private Boolean includeTotal;
 }
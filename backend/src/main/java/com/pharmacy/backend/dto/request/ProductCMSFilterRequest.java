@@ -11,5 +11,7 @@ import lombok.experimental.FieldDefaults;
 public class ProductCMSFilterRequest {
     String title;
     Boolean isAscending;
+    String cursor;
+    Boolean includeTotal;
     Boolean isActive;
 }
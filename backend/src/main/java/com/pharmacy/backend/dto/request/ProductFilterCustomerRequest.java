@@ -13,6 +13,8 @@ public class ProductFilterCustomerRequest {
     Long priceFrom;
     Long priceTo;
     Boolean isAscending;
+    String cursor;
+    Boolean includeTotal;
 
     String brand;
     String category;
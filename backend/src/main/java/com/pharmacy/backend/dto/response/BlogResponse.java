@@ -6,6 +6,7 @@ import lombok.Data;
 import lombok.experimental.FieldDefaults;
 
 import java.time.LocalDateTime;
+import java.util.Map;
 
 @Data
 @FieldDefaults(level = AccessLevel.PRIVATE)
@@ -15,6 +16,7 @@ public class BlogResponse {
     String title;
     String content;
     String thumbnail;
+    Map<String, String> thumbnailVariants;
     String slug;
     CategoryResponse category;
     LocalDateTime createdAt;
@@ -0,0 +1,19 @@
+package com.pharmacy.backend.dto.response;
+
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+
+@Data
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class CacheStatsResponse {
+    String name;
+    long size;
+    long maxSize;
+    long hits;
+    long misses;
+    long evictions;
+    double hitRate;
+}
@@ -6,6 +6,7 @@ import lombok.Data;
 import lombok.experimental.FieldDefaults;
 
 import java.util.List;
+import java.util.Map;
 
 @Data
 @Builder
@@ -14,6 +15,7 @@ public class CategoryResponse {
     Long id;
     String name;
     String thumbnail;
+    Map<String, String> thumbnailVariants;
     String slug;
     Long priority;
     String type;
@@ -0,0 +1,19 @@
+package com.pharmacy.backend.dto.response;
+
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+
+@Data
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class EmailOutboxStatsResponse {
+    long pending;
+    long inFlight;
+    long failed;
+    long sent;
+    long retried;
+    double averageSendMillis;
+    double maxSendMillis;
+}
@@ -0,0 +1,18 @@
+package com.pharmacy.backend.dto.response;
+
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+import org.springframework.core.io.Resource;
+
+@Data
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class FileResourceResponse {
+    Resource resource;
+    String url;
+    String contentType;
+    String originalFileName;
+    String etag;
+}
@@ -10,9 +10,22 @@ import lombok.experimental.FieldDefaults;
 @FieldDefaults(level = AccessLevel.PRIVATE)
 public class PageResponse<T> {
     int currentPage;
-    int totalPages;
-    long totalElements;
+    Integer totalPages;
+    Long totalElements;
     boolean hasNext;
     boolean hasPrevious;
+    String nextCursor;
     T content;
+
+    public <R> PageResponse<R> withContent(R newContent) {
+        return PageResponse.<R>builder()
+                .currentPage(currentPage)
+                .totalPages(totalPages)
+                .totalElements(totalElements)
+                .hasNext(hasNext)
+                .hasPrevious(hasPrevious)
+                .nextCursor(nextCursor)
+                .content(newContent)
+                .build();
+    }
 }
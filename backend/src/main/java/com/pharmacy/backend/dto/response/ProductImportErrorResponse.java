@@ -0,0 +1,14 @@
+package com.pharmacy.backend.dto.response;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+
+@Data
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class ProductImportErrorResponse {
+    long rowNumber;
+    String message;
+}
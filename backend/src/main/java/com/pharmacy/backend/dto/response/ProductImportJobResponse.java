@@ -0,0 +1,25 @@
+package com.pharmacy.backend.dto.response;
+
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class ProductImportJobResponse {
+    String id;
+    String fileName;
+    String status;
+    String message;
+    long processedRows;
+    long importedRows;
+    long failedRows;
+    List<ProductImportErrorResponse> errors;
+    LocalDateTime startedAt;
+    LocalDateTime finishedAt;
+}
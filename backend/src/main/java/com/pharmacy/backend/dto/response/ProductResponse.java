@@ -5,12 +5,14 @@ import lombok.Data;
 import lombok.experimental.FieldDefaults;
 
 import java.util.List;
+import java.util.Map;
 
 @Data
 @FieldDefaults(level = AccessLevel.PRIVATE)
 public class ProductResponse {
     Long id;
     String thumbnailUrl;
+    Map<String, String> thumbnailVariants;
     String title;
     Long priceOld;
     Long priceNew;
@@ -0,0 +1,30 @@
+package com.pharmacy.backend.dto.response;
+
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+
+import java.util.Map;
+
+@Data
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class ProductSummaryResponse {
+    Long id;
+    String thumbnailUrl;
+    Map<String, String> thumbnailVariants;
+    String title;
+    Long priceOld;
+    Long priceNew;
+    Long quantity;
+    String manufacturer;
+    String type;
+    String slug;
+    Long priority;
+    Boolean active;
+    String registrationNumber;
+    String activeIngredient;
+    String dosageForm;
+    Boolean inWishlist;
+    Long numberOfLikes;
+    BrandResponse brand;
+}
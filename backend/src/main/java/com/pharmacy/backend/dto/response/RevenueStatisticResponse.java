@@ -0,0 +1,21 @@
+package com.pharmacy.backend.dto.response;
+
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class RevenueStatisticResponse {
+    String label;
+    LocalDate fromDate;
+    LocalDate toDate;
+    long orderCount;
+    long deliveredCount;
+    long revenue;
+    long paidRevenue;
+}
@@ -0,0 +1,48 @@
+package com.pharmacy.backend.entity;
+
+import com.pharmacy.backend.enums.EmailStatusEnum;
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "email_outbox")
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class EmailOutbox {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    Long id;
+
+    String recipient;
+
+    String subject;
+
+    @Column(columnDefinition = "LONGTEXT")
+    String body;
+
+    @Enumerated(EnumType.STRING)
+    EmailStatusEnum status;
+
+    Integer attempts;
+
+    @Column(name = "next_attempt_at")
+    LocalDateTime nextAttemptAt;
+
+    @Column(name = "last_error", columnDefinition = "TEXT")
+    String lastError;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    LocalDateTime createdAt;
+
+    @Column(name = "sent_at")
+    LocalDateTime sentAt;
+}
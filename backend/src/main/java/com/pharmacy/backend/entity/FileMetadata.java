@@ -41,6 +41,13 @@ public class FileMetadata {
     @Column(name = "file_type", nullable = false)
     String fileType;
 
+    @Column(length = 64)
+    String checksum;
+
+    @Column(name = "reference_count", nullable = false)
+    @Builder.Default
+    int referenceCount = 1;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     @CreationTimestamp
     LocalDateTime createdAt;
@@ -0,0 +1,42 @@
+package com.pharmacy.backend.entity;
+
+import com.pharmacy.backend.enums.PaymentMethodEnum;
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDate;
+
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "order_daily_statistic",
+        uniqueConstraints = @UniqueConstraint(name = "uk_order_daily_statistic_date_method",
+                columnNames = {"stat_date", "payment_method"}))
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class OrderDailyStatistic {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    Long id;
+
+    @Column(name = "stat_date", nullable = false)
+    LocalDate statDate;
+
+    @Column(name = "payment_method", nullable = false)
+    @Enumerated(EnumType.STRING)
+    PaymentMethodEnum paymentMethod;
+
+    @Column(name = "order_count", nullable = false)
+    long orderCount;
+
+    @Column(name = "delivered_count", nullable = false)
+    long deliveredCount;
+
+    @Column(nullable = false)
+    long revenue;
+
+    @Column(name = "paid_revenue", nullable = false)
+    long paidRevenue;
+}
@@ -0,0 +1,22 @@
+package com.pharmacy.backend.entity;
+
+import com.pharmacy.backend.enums.StatisticCounterEnum;
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "statistic_counter")
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class StatisticCounter {
+    @Id
+    @Enumerated(EnumType.STRING)
+    StatisticCounterEnum name;
+
+    @Column(nullable = false)
+    long total;
+}
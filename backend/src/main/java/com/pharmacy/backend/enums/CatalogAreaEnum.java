@@ -0,0 +1,8 @@
+package com.pharmacy.backend.enums;
+
+public enum CatalogAreaEnum {
+    PRODUCT,
+    CATEGORY,
+    BRAND,
+    BLOG,
+}
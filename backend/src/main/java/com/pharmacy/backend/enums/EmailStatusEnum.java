@@ -0,0 +1,8 @@
+package com.pharmacy.backend.enums;
+
+public enum EmailStatusEnum {
+    PENDING,
+    SENDING,
+    SENT,
+    FAILED,
+}
@@ -0,0 +1,6 @@
+package com.pharmacy.backend.enums;
+
+public enum StatisticCounterEnum {
+    PRODUCT,
+    USER,
+}
@@ -0,0 +1,7 @@
+package com.pharmacy.backend.enums;
+
+public enum StatisticPeriodEnum {
+    DAY,
+    WEEK,
+    MONTH,
+}
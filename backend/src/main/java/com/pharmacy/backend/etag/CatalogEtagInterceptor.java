@@ -0,0 +1,49 @@
+package com.pharmacy.backend.etag;
+
+import com.pharmacy.backend.cache.CatalogVersionCache;
+import com.pharmacy.backend.enums.CatalogAreaEnum;
+import com.pharmacy.backend.security.SecurityUtils;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+public class CatalogEtagInterceptor implements HandlerInterceptor {
+    static final String ETAG_ATTRIBUTE = CatalogEtagInterceptor.class.getName() + ".etag";
+    static final String CACHE_CONTROL_ATTRIBUTE = CatalogEtagInterceptor.class.getName() + ".cacheControl";
+
+    private final CatalogVersionCache catalogVersionCache;
+    private final List<CatalogAreaEnum> areas;
+    private final boolean userSpecific;
+    private final CacheControl publicCacheControl;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!HttpMethod.GET.matches(request.getMethod()) && !HttpMethod.HEAD.matches(request.getMethod())) {
+            return true;
+        }
+
+        Long userId = userSpecific ? SecurityUtils.getCurrentUserId() : null;
+        String etag = catalogVersionCache.etag(areas, userId);
+        String cacheControl = userId != null
+                ? CacheControl.noCache().cachePrivate().getHeaderValue()
+                : publicCacheControl.getHeaderValue();
+
+        if (new ServletWebRequest(request, response).checkNotModified(etag)) {
+            response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+            response.setHeader(HttpHeaders.VARY, HttpHeaders.AUTHORIZATION);
+            return false;
+        }
+
+        request.setAttribute(ETAG_ATTRIBUTE, etag);
+        request.setAttribute(CACHE_CONTROL_ATTRIBUTE, cacheControl);
+        return true;
+    }
+}
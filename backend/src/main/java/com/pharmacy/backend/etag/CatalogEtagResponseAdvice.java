@@ -0,0 +1,43 @@
+package com.pharmacy.backend.etag;
+
+import com.pharmacy.backend.dto.response.ApiResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+@ControllerAdvice
+public class CatalogEtagResponseAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (!(request instanceof ServletServerHttpRequest servletRequest)
+                || !(body instanceof ApiResponse<?> apiResponse)
+                || apiResponse.getStatus() != HttpStatus.OK.value()) {
+            return body;
+        }
+
+        HttpServletRequest httpRequest = servletRequest.getServletRequest();
+        Object etag = httpRequest.getAttribute(CatalogEtagInterceptor.ETAG_ATTRIBUTE);
+        if (etag != null) {
+            response.getHeaders().setETag((String) etag);
+            response.getHeaders().setCacheControl((String) httpRequest.getAttribute(CatalogEtagInterceptor.CACHE_CONTROL_ATTRIBUTE));
+            response.getHeaders().add(HttpHeaders.VARY, HttpHeaders.AUTHORIZATION);
+        }
+        return body;
+    }
+}
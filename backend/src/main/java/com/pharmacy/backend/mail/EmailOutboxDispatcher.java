@@ -0,0 +1,172 @@
+package com.pharmacy.backend.mail;
+
+import com.pharmacy.backend.dto.response.EmailOutboxStatsResponse;
+import com.pharmacy.backend.entity.EmailOutbox;
+import com.pharmacy.backend.enums.EmailStatusEnum;
+import com.pharmacy.backend.repository.EmailOutboxRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.UnsupportedEncodingException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class EmailOutboxDispatcher {
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final JavaMailSender mailSender;
+
+    @Value("${spring.mail.username}")
+    private String fromEmail;
+
+    @Value("${mail.outbox.workers:4}")
+    private int workers;
+
+    @Value("${mail.outbox.batch-size:50}")
+    private int batchSize;
+
+    @Value("${mail.outbox.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${mail.outbox.backoff-ms:30000}")
+    private long backoffMs;
+
+    @Value("${mail.outbox.lease-ms:600000}")
+    private long leaseMs;
+
+    private static final List<EmailStatusEnum> CLAIMABLE = List.of(EmailStatusEnum.PENDING, EmailStatusEnum.SENDING);
+
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean polling = new AtomicBoolean();
+    private final AtomicBoolean pollRequested = new AtomicBoolean();
+
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder retried = new LongAdder();
+    private final LongAdder sendNanos = new LongAdder();
+    private final AtomicLong maxSendNanos = new AtomicLong();
+
+    private ExecutorService executor;
+
+    @PostConstruct
+    void start() {
+        executor = Executors.newFixedThreadPool(workers, Thread.ofVirtual().name("email-outbox-", 0).factory());
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdown();
+    }
+
+    public void wakeUp() {
+        executor.execute(this::poll);
+    }
+
+    @Scheduled(fixedDelayString = "${mail.outbox.poll-interval-ms:10000}")
+    public void poll() {
+        pollRequested.set(true);
+        if (!polling.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            while (pollRequested.getAndSet(false)) {
+                LocalDateTime now = LocalDateTime.now();
+                List<Long> due = emailOutboxRepository.findDueIds(CLAIMABLE, now, PageRequest.of(0, batchSize));
+                for (Long id : due) {
+                    if (!inFlight.add(id)) {
+                        continue;
+                    }
+                    if (emailOutboxRepository.claim(id, CLAIMABLE, now, now.plus(Duration.ofMillis(leaseMs))) == 1) {
+                        executor.execute(() -> deliver(id));
+                    } else {
+                        inFlight.remove(id);
+                    }
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not poll email outbox", e);
+        } finally {
+            polling.set(false);
+        }
+    }
+
+    public EmailOutboxStatsResponse getStats() {
+        long sentCount = sent.sum();
+        return EmailOutboxStatsResponse.builder()
+                .pending(emailOutboxRepository.countByStatus(EmailStatusEnum.PENDING))
+                .inFlight(inFlight.size())
+                .failed(emailOutboxRepository.countByStatus(EmailStatusEnum.FAILED))
+                .sent(sentCount)
+                .retried(retried.sum())
+                .averageSendMillis(sentCount == 0 ? 0 : sendNanos.sum() / 1_000_000.0 / sentCount)
+                .maxSendMillis(maxSendNanos.get() / 1_000_000.0)
+                .build();
+    }
+
+    private void deliver(Long id) {
+        try {
+            EmailOutbox email = emailOutboxRepository.findById(id).orElse(null);
+            if (email == null || email.getStatus() != EmailStatusEnum.SENDING) {
+                return;
+            }
+
+            int attempts = email.getAttempts();
+            long start = System.nanoTime();
+            try {
+                send(email);
+            } catch (MessagingException | UnsupportedEncodingException | MailException e) {
+                if (attempts >= maxAttempts) {
+                    emailOutboxRepository.release(id, EmailStatusEnum.FAILED, email.getNextAttemptAt(), e.getMessage());
+                    log.error("Giving up on email {} to {} after {} attempts", id, email.getRecipient(), attempts, e);
+                } else {
+                    retried.increment();
+                    emailOutboxRepository.release(id, EmailStatusEnum.PENDING,
+                            LocalDateTime.now().plus(Duration.ofMillis(backoffMs << (attempts - 1))), e.getMessage());
+                    log.warn("Email {} to {} failed on attempt {}, retrying later", id, email.getRecipient(), attempts);
+                }
+                return;
+            }
+
+            long elapsed = System.nanoTime() - start;
+            sendNanos.add(elapsed);
+            maxSendNanos.accumulateAndGet(elapsed, Math::max);
+            sent.increment();
+            emailOutboxRepository.markSent(id, LocalDateTime.now());
+        } catch (RuntimeException e) {
+            log.warn("Could not update email outbox entry {}", id, e);
+        } finally {
+            inFlight.remove(id);
+        }
+    }
+
+    private void send(EmailOutbox email) throws MessagingException, UnsupportedEncodingException {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
+        helper.setTo(email.getRecipient());
+        helper.setSubject(email.getSubject());
+        helper.setText(email.getBody(), true);
+        helper.setFrom(fromEmail, "Nhà Thuốc Pharmacy");
+
+        mailSender.send(message);
+    }
+}
@@ -29,11 +29,13 @@ public interface BlogMapper {
     Blog toBlogUpdateFromRequest(BlogRequest request, @MappingTarget Blog blog);
 
     @Mapping(target = "category", source = "category")
+    @Mapping(target = "thumbnailVariants", ignore = true)
     BlogResponse toBlogResponse(Blog blog);
 
     @Mapping(target = "children", ignore = true)
     @Mapping(target = "priority", ignore = true)
     @Mapping(target = "parentId", ignore = true)
+    @Mapping(target = "thumbnailVariants", ignore = true)
     CategoryResponse toCategoryResponse(Category category);
 
 }
@@ -34,6 +34,9 @@ public interface CategoryMapper {
 
 
     @Mapping(target = "children", ignore = true)
+    @Mapping(target = "thumbnailVariants", ignore = true)
+    @Mapping(target = "priority", ignore = true)
+    @Mapping(target = "parentId", ignore = true)
     CategoryResponse toCategoryResponse(Category category);
 
 }
@@ -1,8 +1,10 @@
 package com.pharmacy.backend.mapper;
 
 import com.pharmacy.backend.dto.request.OrderRequest;
+import com.pharmacy.backend.dto.response.CategoryResponse;
 import com.pharmacy.backend.dto.response.OrderDetailResponse;
 import com.pharmacy.backend.dto.response.OrderResponse;
+import com.pharmacy.backend.entity.Category;
 import com.pharmacy.backend.entity.Order;
 import com.pharmacy.backend.entity.OrderDetail;
 import org.mapstruct.Mapper;
@@ -19,7 +21,13 @@ public interface OrderMapper {
     @Mapping(target = "cart", ignore = true)
     Order toOrder(OrderRequest request);
 
+    @Mapping(target = "product.thumbnailVariants", ignore = true)
     OrderDetailResponse toOrderDetailResponse(OrderDetail orderDetail);
 
     OrderResponse toOrderResponse(Order order);
+
+    @Mapping(target = "thumbnailVariants", ignore = true)
+    @Mapping(target = "priority", ignore = true)
+    @Mapping(target = "parentId", ignore = true)
+    CategoryResponse toCategoryResponse(Category category);
 }
@@ -2,6 +2,7 @@ package com.pharmacy.backend.mapper;
 
 import com.pharmacy.backend.dto.request.ProductRequest;
 import com.pharmacy.backend.dto.response.ProductResponse;
+import com.pharmacy.backend.dto.response.ProductSummaryResponse;
 
 import com.pharmacy.backend.entity.Product;
 import org.mapstruct.*;
@@ -39,8 +40,15 @@ public interface ProductMapper {
     @Mapping(target = "images", ignore = true)
     @Mapping(target = "brand", ignore = true)
     @Mapping(target = "thumbnailUrl", ignore = true)
+    @Mapping(target = "thumbnailVariants", ignore = true)
     @Mapping(target = "inWishlist", ignore = true)
     @Mapping(target = "categories", ignore = true)
     ProductResponse toProductResponse(Product product);
 
+    @Mapping(target = "brand", ignore = true)
+    @Mapping(target = "thumbnailUrl", ignore = true)
+    @Mapping(target = "thumbnailVariants", ignore = true)
+    @Mapping(target = "inWishlist", ignore = true)
+    ProductSummaryResponse toProductSummaryResponse(Product product);
+
 }
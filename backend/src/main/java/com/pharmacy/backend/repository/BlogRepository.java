@@ -5,6 +5,8 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -12,7 +14,8 @@ import java.util.Optional;
 
 @Repository
 public interface BlogRepository extends JpaRepository<Blog, Long>, JpaSpecificationExecutor<Blog> {
-    boolean existsBySlug(String slug);
+    @Query("SELECT b.slug FROM Blog b WHERE b.slug = :baseSlug OR b.slug LIKE CONCAT(:baseSlug, '-%')")
+    List<String> findSlugFamily(@Param("baseSlug") String baseSlug);
 
     Optional<Blog> findBySlug(String slug);
 
@@ -4,12 +4,20 @@ import com.pharmacy.backend.entity.Brand;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface BrandRepository extends JpaRepository<Brand, Long> {
     Page<Brand> findByNameContainingIgnoreCase(String name, Pageable pageable);
-    boolean existsBySlug(String slug);
+
+    @Query("SELECT b.slug FROM Brand b WHERE b.slug = :baseSlug OR b.slug LIKE CONCAT(:baseSlug, '-%')")
+    List<String> findSlugFamily(@Param("baseSlug") String baseSlug);
+
+    @Query("SELECT b.id FROM Brand b WHERE b.slug = :slug")
+    Optional<Long> findIdBySlug(@Param("slug") String slug);
 }
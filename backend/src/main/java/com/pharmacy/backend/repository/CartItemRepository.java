@@ -3,8 +3,10 @@ package com.pharmacy.backend.repository;
 import com.pharmacy.backend.entity.Cart;
 import com.pharmacy.backend.entity.CartItem;
 import com.pharmacy.backend.entity.Product;
-import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -12,13 +14,33 @@ import java.util.Optional;
 
 @Repository
 public interface CartItemRepository extends JpaRepository<CartItem, Long> {
-    List<CartItem> findByCart(Cart cart, Sort createdAt);
-
     Optional<CartItem> findByCartAndProduct(Cart cart, Product product);
 
-    Optional<CartItem> findByCartAndId(Cart cart, Long id);
+    @Query("SELECT ci FROM CartItem ci JOIN FETCH ci.product p LEFT JOIN FETCH p.brand " +
+            "WHERE ci.cart = :cart AND ci.id = :id")
+    Optional<CartItem> findByCartAndId(@Param("cart") Cart cart, @Param("id") Long id);
+
+    @Query("SELECT ci FROM CartItem ci JOIN FETCH ci.product p LEFT JOIN FETCH p.brand " +
+            "WHERE ci.cart = :cart AND ci.selected = :isSelected")
+    List<CartItem> findAllByCartAndSelected(@Param("cart") Cart cart, @Param("isSelected") Boolean isSelected);
+
+    @Query("SELECT COALESCE(SUM(ci.quantity * p.priceNew), 0) FROM CartItem ci JOIN ci.product p " +
+            "WHERE ci.cart.user.id = :userId AND ci.selected = true")
+    Long sumSelectedTotalByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT COALESCE(SUM(ci.quantity), 0) FROM CartItem ci WHERE ci.cart.user.id = :userId")
+    Long sumQuantityByUserId(@Param("userId") Long userId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE CartItem ci SET ci.selected = :selected " +
+            "WHERE ci.cart = :cart AND (ci.selected IS NULL OR ci.selected <> :selected)")
+    int updateSelectedByCart(@Param("cart") Cart cart, @Param("selected") Boolean selected);
 
-    List<CartItem> findAllByCartAndSelected(Cart cart, Boolean isSelected);
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM CartItem ci WHERE ci.cart = :cart")
+    int deleteAllByCart(@Param("cart") Cart cart);
 
-    List<CartItem> findAllByCart(Cart cart);
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM CartItem ci WHERE ci.cart = :cart AND ci.selected = true")
+    int deleteSelectedByCart(@Param("cart") Cart cart);
 }
@@ -3,6 +3,8 @@ package com.pharmacy.backend.repository;
 import com.pharmacy.backend.entity.Cart;
 import com.pharmacy.backend.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -12,4 +14,12 @@ public interface CartRepository extends JpaRepository<Cart, Long> {
     boolean existsByUser(User user);
 
     Optional<Cart> findByUser(User user);
+
+    @Query("SELECT c FROM Cart c JOIN FETCH c.user u WHERE u.id = :userId")
+    Optional<Cart> findByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT c FROM Cart c JOIN FETCH c.user u " +
+            "LEFT JOIN FETCH c.cartItems ci LEFT JOIN FETCH ci.product p LEFT JOIN FETCH p.brand " +
+            "WHERE u.id = :userId ORDER BY ci.createdAt DESC")
+    Optional<Cart> findWithItemsByUserId(@Param("userId") Long userId);
 }
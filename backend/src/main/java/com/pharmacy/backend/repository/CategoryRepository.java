@@ -4,6 +4,8 @@ import com.pharmacy.backend.entity.Category;
 import com.pharmacy.backend.entity.Product;
 import com.pharmacy.backend.enums.CategoryTypeEnum;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -11,10 +13,14 @@ import java.util.Optional;
 
 @Repository
 public interface CategoryRepository extends JpaRepository<Category, Long> {
-    boolean existsBySlug(String slug);
+    @Query("SELECT c.slug FROM Category c WHERE c.slug = :baseSlug OR c.slug LIKE CONCAT(:baseSlug, '-%')")
+    List<String> findSlugFamily(@Param("baseSlug") String baseSlug);
 
     Optional<Category> findBySlug(String parentSlug);
 
+    @Query("SELECT c.id FROM Category c WHERE c.slug = :slug")
+    Optional<Long> findIdBySlug(@Param("slug") String slug);
+
     List<Category> findByParent(Category parent);
 
     List<Category> findByType(CategoryTypeEnum categoryTypeEnum);
@@ -0,0 +1,44 @@
+package com.pharmacy.backend.repository;
+
+import com.pharmacy.backend.entity.EmailOutbox;
+import com.pharmacy.backend.enums.EmailStatusEnum;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutbox, Long> {
+    @Query("SELECT e.id FROM EmailOutbox e WHERE e.status IN :statuses AND e.nextAttemptAt <= :now ORDER BY e.id ASC")
+    List<Long> findDueIds(@Param("statuses") List<EmailStatusEnum> statuses, @Param("now") LocalDateTime now, Pageable pageable);
+
+    long countByStatus(EmailStatusEnum status);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE EmailOutbox e SET e.status = com.pharmacy.backend.enums.EmailStatusEnum.SENDING, " +
+            "e.attempts = e.attempts + 1, e.nextAttemptAt = :leaseUntil " +
+            "WHERE e.id = :id AND e.status IN :statuses AND e.nextAttemptAt <= :now")
+    int claim(@Param("id") Long id, @Param("statuses") List<EmailStatusEnum> statuses,
+              @Param("now") LocalDateTime now, @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE EmailOutbox e SET e.status = com.pharmacy.backend.enums.EmailStatusEnum.SENT, " +
+            "e.sentAt = :sentAt, e.lastError = NULL " +
+            "WHERE e.id = :id AND e.status = com.pharmacy.backend.enums.EmailStatusEnum.SENDING")
+    int markSent(@Param("id") Long id, @Param("sentAt") LocalDateTime sentAt);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE EmailOutbox e SET e.status = :status, e.nextAttemptAt = :nextAttemptAt, e.lastError = :lastError " +
+            "WHERE e.id = :id AND e.status = com.pharmacy.backend.enums.EmailStatusEnum.SENDING")
+    int release(@Param("id") Long id, @Param("status") EmailStatusEnum status,
+                @Param("nextAttemptAt") LocalDateTime nextAttemptAt, @Param("lastError") String lastError);
+}
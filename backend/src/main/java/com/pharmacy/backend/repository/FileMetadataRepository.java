@@ -2,13 +2,36 @@ package com.pharmacy.backend.repository;
 
 
 import com.pharmacy.backend.entity.FileMetadata;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface FileMetadataRepository extends JpaRepository<FileMetadata, Long> {
     Optional<FileMetadata> findByUuid(UUID uuid);
+
+    List<FileMetadata> findAllByUuidIn(Collection<UUID> uuids);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT f FROM FileMetadata f WHERE f.uuid = :uuid")
+    Optional<FileMetadata> findByUuidForUpdate(@Param("uuid") UUID uuid);
+
+    List<FileMetadata> findAllByChecksumIn(Collection<String> checksums);
+
+    @Modifying
+    @Query("UPDATE FileMetadata f SET f.referenceCount = f.referenceCount + 1 WHERE f.uuid = :uuid")
+    int incrementReferenceCount(@Param("uuid") UUID uuid);
+
+    @Modifying
+    @Query("UPDATE FileMetadata f SET f.referenceCount = f.referenceCount - 1 WHERE f.uuid = :uuid AND f.referenceCount > 1")
+    int decrementSharedReferenceCount(@Param("uuid") UUID uuid);
 }
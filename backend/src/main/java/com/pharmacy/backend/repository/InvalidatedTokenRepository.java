@@ -13,4 +13,6 @@ public interface InvalidatedTokenRepository extends JpaRepository<InvalidatedTok
     boolean existsById(String jti);
 
     List<InvalidatedToken> findTop10ByExpirationTimeBefore(Date now);
+
+    List<InvalidatedToken> findAllByExpirationTimeAfter(Date now);
 }
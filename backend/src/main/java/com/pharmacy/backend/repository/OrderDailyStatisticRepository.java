@@ -0,0 +1,38 @@
+package com.pharmacy.backend.repository;
+
+import com.pharmacy.backend.entity.OrderDailyStatistic;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface OrderDailyStatisticRepository extends JpaRepository<OrderDailyStatistic, Long> {
+    @Modifying
+    @Query(value = "INSERT INTO order_daily_statistic " +
+            "(stat_date, payment_method, order_count, delivered_count, revenue, paid_revenue) " +
+            "VALUES (:statDate, :paymentMethod, :orderCount, :deliveredCount, :revenue, :paidRevenue) " +
+            "ON DUPLICATE KEY UPDATE order_count = order_count + :orderCount, " +
+            "delivered_count = delivered_count + :deliveredCount, " +
+            "revenue = revenue + :revenue, " +
+            "paid_revenue = paid_revenue + :paidRevenue",
+            nativeQuery = true)
+    void accumulate(@Param("statDate") LocalDate statDate,
+                    @Param("paymentMethod") String paymentMethod,
+                    @Param("orderCount") long orderCount,
+                    @Param("deliveredCount") long deliveredCount,
+                    @Param("revenue") long revenue,
+                    @Param("paidRevenue") long paidRevenue);
+
+    List<OrderDailyStatistic> findAllByStatDateBetweenOrderByStatDateAsc(LocalDate fromDate, LocalDate toDate);
+
+    @Query("SELECT COALESCE(SUM(s.orderCount), 0) FROM OrderDailyStatistic s")
+    long sumOrderCount();
+
+    @Query("SELECT COALESCE(SUM(s.revenue), 0) FROM OrderDailyStatistic s")
+    long sumRevenue();
+}
@@ -3,22 +3,55 @@ package com.pharmacy.backend.repository;
 import com.pharmacy.backend.entity.Brand;
 import com.pharmacy.backend.entity.Category;
 import com.pharmacy.backend.entity.Product;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Repository
 public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpecificationExecutor<Product> {
-    boolean existsBySlug(String slug);
+    @Query("SELECT p.slug FROM Product p WHERE p.slug = :baseSlug OR p.slug LIKE CONCAT(:baseSlug, '-%')")
+    List<String> findSlugFamily(@Param("baseSlug") String baseSlug);
 
     Optional<Product> findBySlug(String slug);
 
+    @Query("SELECT p.slug FROM Product p WHERE p.slug IS NOT NULL")
+    Set<String> findAllSlugs();
+
+    @EntityGraph(attributePaths = {"brand", "categories", "categories.parent"})
+    Optional<Product> findDetailBySlug(String slug);
+
+    @EntityGraph(attributePaths = {"brand", "categories"})
+    @Query("SELECT p FROM Product p")
+    List<Product> findAllForSearchIndex();
+
+    @EntityGraph(attributePaths = {"categories"})
+    List<Product> findAllWithCategoriesByIdIn(Collection<Long> ids);
+
+    @Override
+    @EntityGraph(attributePaths = {"brand"})
+    Page<Product> findAll(Specification<Product> specification, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"brand"})
     List<Product> findTop15ByActiveTrue(Pageable pageable);
 
     List<Product> findTop15ByBrandAndActive(Brand brand, boolean b);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Product p SET p.quantity = p.quantity - :quantity WHERE p.id = :id AND p.quantity >= :quantity")
+    int decrementQuantity(@Param("id") Long id, @Param("quantity") Long quantity);
+
+    @Query("SELECT p.quantity FROM Product p WHERE p.id = :id")
+    Long findQuantityById(@Param("id") Long id);
 }
@@ -0,0 +1,18 @@
+package com.pharmacy.backend.repository;
+
+import com.pharmacy.backend.entity.StatisticCounter;
+import com.pharmacy.backend.enums.StatisticCounterEnum;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface StatisticCounterRepository extends JpaRepository<StatisticCounter, StatisticCounterEnum> {
+    @Modifying
+    @Query(value = "INSERT INTO statistic_counter (name, total) VALUES (:name, :delta) " +
+            "ON DUPLICATE KEY UPDATE total = total + :delta",
+            nativeQuery = true)
+    void increment(@Param("name") String name, @Param("delta") long delta);
+}
@@ -4,11 +4,15 @@ import com.pharmacy.backend.entity.Product;
 import com.pharmacy.backend.entity.User;
 import com.pharmacy.backend.entity.Wishlist;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Repository
 public interface WishlistRepository extends JpaRepository<Wishlist, Long> {
@@ -21,4 +25,8 @@ public interface WishlistRepository extends JpaRepository<Wishlist, Long> {
     Boolean existsByProductAndUser(Product product, User user);
 
     boolean existsByUserAndProduct(User user, Product product);
+
+    @Query("SELECT w.product.id FROM Wishlist w WHERE w.user.id = :userId AND w.product.id IN :productIds")
+    Set<Long> findProductIdsByUserIdAndProductIdIn(@Param("userId") Long userId,
+                                                   @Param("productIds") Collection<Long> productIds);
 }
@@ -0,0 +1,16 @@
+package com.pharmacy.backend.search;
+
+public record ProductSearchFilter(Boolean active, Long brandId, Long categoryId, Long priceFrom, Long priceTo) {
+
+    public static ProductSearchFilter active(Boolean active) {
+        return new ProductSearchFilter(active, null, null, null, null);
+    }
+
+    boolean matches(ProductSearchIndex.Document document) {
+        return (active == null || active == document.active())
+                && (brandId == null || brandId.equals(document.brandId()))
+                && (categoryId == null || document.categoryIds().contains(categoryId))
+                && (priceFrom == null || (document.price() != null && document.price() >= priceFrom))
+                && (priceTo == null || (document.price() != null && document.price() <= priceTo));
+    }
+}
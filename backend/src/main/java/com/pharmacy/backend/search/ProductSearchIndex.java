@@ -0,0 +1,180 @@
+package com.pharmacy.backend.search;
+
+import com.pharmacy.backend.entity.Category;
+import com.pharmacy.backend.entity.Product;
+import com.pharmacy.backend.repository.ProductRepository;
+import com.pharmacy.backend.utils.SlugUtils;
+import com.pharmacy.backend.utils.TransactionUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProductSearchIndex {
+    static final int TITLE_WEIGHT = 3;
+    static final int ACTIVE_INGREDIENT_WEIGHT = 2;
+    static final int MANUFACTURER_WEIGHT = 1;
+
+    private final ProductRepository productRepository;
+
+    @Value("${search.product.max-results:500}")
+    private int maxResults;
+
+    private final NavigableMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+    private final Map<Long, Set<String>> termsByProduct = new HashMap<>();
+    private final Map<Long, Document> documents = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<Product> products = productRepository.findAllForSearchIndex();
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            termsByProduct.clear();
+            documents.clear();
+            products.forEach(product -> put(product.getId(), toTerms(product), toDocument(product)));
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Indexed {} products for search", products.size());
+    }
+
+    public void index(Product product) {
+        index(product, toDocument(product));
+    }
+
+    public void index(Product product, Long brandId, Collection<Long> categoryIds) {
+        index(product, new Document(Boolean.TRUE.equals(product.getActive()), brandId, Set.copyOf(categoryIds), product.getPriceNew()));
+    }
+
+    private void index(Product product, Document document) {
+        Long productId = product.getId();
+        Map<String, Integer> terms = toTerms(product);
+        TransactionUtils.afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                remove(productId);
+                put(productId, terms, document);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public void delete(Long productId) {
+        TransactionUtils.afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                remove(productId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public List<Long> search(String query, ProductSearchFilter filter) {
+        List<String> queryTokens = tokenize(query);
+        if (queryTokens.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Integer> scores = null;
+        lock.readLock().lock();
+        try {
+            for (String token : queryTokens) {
+                Map<Long, Integer> tokenScores = new HashMap<>();
+                postings.subMap(token, true, token + Character.MAX_VALUE, true).forEach((term, weights) -> {
+                    int factor = term.equals(token) ? 2 : 1;
+                    weights.forEach((productId, weight) -> tokenScores.merge(productId, weight * factor, Math::max));
+                });
+
+                if (scores == null) {
+                    scores = tokenScores;
+                    scores.keySet().removeIf(productId -> !filter.matches(documents.get(productId)));
+                } else {
+                    scores.keySet().retainAll(tokenScores.keySet());
+                    scores.replaceAll((productId, score) -> score + tokenScores.get(productId));
+                }
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        return scores.entrySet().stream()
+                .sorted(Map.Entry.<Long, Integer>comparingByValue().reversed()
+                        .thenComparing(Map.Entry.<Long, Integer>comparingByKey().reversed()))
+                .limit(maxResults)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    private void put(Long productId, Map<String, Integer> terms, Document document) {
+        terms.forEach((term, weight) -> postings.computeIfAbsent(term, k -> new HashMap<>()).put(productId, weight));
+        termsByProduct.put(productId, terms.keySet());
+        documents.put(productId, document);
+    }
+
+    private void remove(Long productId) {
+        documents.remove(productId);
+        Set<String> terms = termsByProduct.remove(productId);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            Map<Long, Integer> weights = postings.get(term);
+            if (weights != null) {
+                weights.remove(productId);
+                if (weights.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+
+    private Document toDocument(Product product) {
+        Set<Long> categoryIds = product.getCategories() == null ? Set.of() : product.getCategories().stream()
+                .map(Category::getId)
+                .collect(Collectors.toUnmodifiableSet());
+        return new Document(Boolean.TRUE.equals(product.getActive()),
+                product.getBrand() != null ? product.getBrand().getId() : null, categoryIds, product.getPriceNew());
+    }
+
+    private Map<String, Integer> toTerms(Product product) {
+        Map<String, Integer> terms = new HashMap<>();
+        addTerms(terms, product.getTitle(), TITLE_WEIGHT);
+        addTerms(terms, product.getActiveIngredient(), ACTIVE_INGREDIENT_WEIGHT);
+        addTerms(terms, product.getManufacturer(), MANUFACTURER_WEIGHT);
+        return terms;
+    }
+
+    private void addTerms(Map<String, Integer> terms, String text, int weight) {
+        tokenize(text).forEach(token -> terms.merge(token, weight, Math::max));
+    }
+
+    private List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(SlugUtils.normalize(text).split("[^a-z0-9]+"))
+                .filter(token -> !token.isEmpty())
+                .distinct()
+                .toList();
+    }
+
+    record Document(boolean active, Long brandId, Set<Long> categoryIds, Long price) {
+    }
+}
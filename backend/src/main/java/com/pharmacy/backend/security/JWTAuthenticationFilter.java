@@ -1,14 +1,10 @@
 package com.pharmacy.backend.security;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
 import com.nimbusds.jwt.SignedJWT;
+import com.pharmacy.backend.cache.TokenRevocationCache;
 import com.pharmacy.backend.dto.response.ErrorResponse;
-import com.pharmacy.backend.entity.InvalidatedToken;
-import com.pharmacy.backend.entity.User;
 import com.pharmacy.backend.exception.AppException;
-import com.pharmacy.backend.repository.InvalidatedTokenRepository;
-import com.pharmacy.backend.repository.UserRepository;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -30,9 +26,8 @@ import java.util.Objects;
 @RequiredArgsConstructor
 public class JWTAuthenticationFilter extends OncePerRequestFilter {
 
-    private final InvalidatedTokenRepository invalidatedTokenRepository;
-    private final ObjectMapper objectMapper = new ObjectMapper();
-    private final UserRepository userRepository;
+    private final TokenRevocationCache tokenRevocationCache;
+    private final ObjectMapper objectMapper;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -44,7 +39,7 @@ public class JWTAuthenticationFilter extends OncePerRequestFilter {
             try {
                 SignedJWT signedJWT = SignedJWT.parse(token);
                 String jti = signedJWT.getJWTClaimsSet().getJWTID();
-                if (jti != null && invalidatedTokenRepository.existsById(jti)) {
+                if (tokenRevocationCache.isRevoked(jti)) {
                     handleUnauthorized(response, "Phiên đăng nhập không hợp lệ hoặc đã bị thu hồi");
                     return;
                 }
@@ -54,12 +49,12 @@ public class JWTAuthenticationFilter extends OncePerRequestFilter {
                     return;
                 }
 
-                User user = userRepository.findById((Long) signedJWT.getJWTClaimsSet().getClaim("id"))
+                Integer currentTokenVersion = tokenRevocationCache.getTokenVersion((Long) signedJWT.getJWTClaimsSet().getClaim("id"))
                         .orElseThrow(() -> new AppException(HttpStatus.NOT_FOUND, "Người dùng không tồn tại", "userId"));
 
                 Integer tokenVersion = Integer.parseInt(signedJWT.getJWTClaimsSet().getClaim("ver").toString());
-                if(!tokenVersion.equals(user.getTokenVersion())) {
-                    invalidatedTokenRepository.save(new InvalidatedToken(jti, signedJWT.getJWTClaimsSet().getExpirationTime()));
+                if(!tokenVersion.equals(currentTokenVersion)) {
+                    tokenRevocationCache.revoke(jti, signedJWT.getJWTClaimsSet().getExpirationTime());
                     handleUnauthorized(response, "Phiên đăng nhập đã được câp nhật. Vui lòng đăng nhập lại.");
                     return;
                 }
@@ -82,8 +77,6 @@ public class JWTAuthenticationFilter extends OncePerRequestFilter {
                 .timestamp(LocalDateTime.now())
                 .build();
 
-        objectMapper.findAndRegisterModules();
-        objectMapper.configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false);
         response.setContentType(MediaType.APPLICATION_JSON_VALUE + "; charset=UTF-8");
         response.setCharacterEncoding("UTF-8");
         response.getWriter().write(objectMapper.writeValueAsString(errorResponse));
@@ -5,6 +5,7 @@ import com.nimbusds.jose.crypto.MACSigner;
 import com.nimbusds.jose.crypto.MACVerifier;
 import com.nimbusds.jwt.JWTClaimsSet;
 import com.nimbusds.jwt.SignedJWT;
+import com.pharmacy.backend.cache.TokenRevocationCache;
 import com.pharmacy.backend.entity.InvalidatedToken;
 import com.pharmacy.backend.entity.PasswordResetToken;
 import com.pharmacy.backend.entity.Role;
@@ -49,6 +50,7 @@ public class JwtUtils{
     static final String ISUER = "Pharmacy";
     final InvalidatedTokenRepository invalidatedTokenRepository;
     final PasswordResetTokenRepository passwordResetTokenRepository;
+    final TokenRevocationCache tokenRevocationCache;
 
     public String generateToken(User user) {
         JWSHeader header = new JWSHeader(JWSAlgorithm.HS512);
@@ -92,7 +94,7 @@ public class JwtUtils{
                 : signedJWT.getJWTClaimsSet().getExpirationTime();
         var verified = signedJWT.verify(verifier);
 
-        if (invalidatedTokenRepository.existsById(signedJWT.getJWTClaimsSet().getJWTID())) {
+        if (tokenRevocationCache.isRevoked(signedJWT.getJWTClaimsSet().getJWTID())) {
             throw new AppException(HttpStatus.UNAUTHORIZED, "Phiên đăng nhập đã bị vô hiệu hóa", "token");
         }
 
@@ -1,16 +1,15 @@
 package com.pharmacy.backend.service;
 
-import com.pharmacy.backend.dto.request.ConfirmationEmailRequest;
+import com.pharmacy.backend.dto.response.ApiResponse;
+import com.pharmacy.backend.dto.response.EmailOutboxStatsResponse;
 import com.pharmacy.backend.entity.Order;
-import jakarta.mail.MessagingException;
 
-import java.io.UnsupportedEncodingException;
 import java.time.LocalDateTime;
 
 public interface EmailService {
-    void sendOrderConfirmationEmail(Order order, String userEmail)
-            throws MessagingException, UnsupportedEncodingException;
+    void sendOrderConfirmationEmail(Order order, String userEmail);
 
-    void sendResetEmail(String email, String token, LocalDateTime expiryAt, Boolean isUser)
-            throws MessagingException, UnsupportedEncodingException;
+    void sendResetEmail(String email, String token, LocalDateTime expiryAt, Boolean isUser);
+
+    ApiResponse<EmailOutboxStatsResponse> getOutboxStats();
 }
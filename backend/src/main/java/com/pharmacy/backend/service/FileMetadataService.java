@@ -1,14 +1,25 @@
 package com.pharmacy.backend.service;
 
 import com.pharmacy.backend.dto.response.ApiResponse;
+import com.pharmacy.backend.dto.response.CacheStatsResponse;
 import com.pharmacy.backend.dto.response.FileMetadataResponse;
-import org.springframework.core.io.FileSystemResource;
+import com.pharmacy.backend.dto.response.FileResourceResponse;
+import com.pharmacy.backend.entity.FileMetadata;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
 
 public interface FileMetadataService {
     ApiResponse<FileMetadataResponse> storeFile(MultipartFile file, String category);
-    FileSystemResource downloadFile(String uuidStr);
+    List<FileMetadata> storeFiles(List<MultipartFile> files, String category);
+    FileResourceResponse downloadFile(String uuidStr);
     void deleteFile(String uuidStr);
-    FileSystemResource loadFile(String uuidStr);
+    FileResourceResponse loadFile(String uuidStr);
+    Map<String, String> getFileUrls(Collection<String> uuidStrs);
+    Map<String, Map<String, String>> getFileVariants(Collection<String> uuidStrs);
+    Map<String, String> getVariantUrls(FileMetadata fileMetadata);
+    ApiResponse<CacheStatsResponse> getCacheStats();
 }
@@ -0,0 +1,8 @@
+package com.pharmacy.backend.service;
+
+import java.util.List;
+import java.util.Map;
+
+public interface InventoryService {
+    List<Long> reserve(Map<Long, Long> quantitiesByProductId);
+}
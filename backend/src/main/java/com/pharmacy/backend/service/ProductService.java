@@ -6,6 +6,7 @@ import com.pharmacy.backend.dto.request.ProductRequest;
 import com.pharmacy.backend.dto.response.ApiResponse;
 import com.pharmacy.backend.dto.response.PageResponse;
 import com.pharmacy.backend.dto.response.ProductResponse;
+import com.pharmacy.backend.dto.response.ProductSummaryResponse;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
@@ -14,9 +15,9 @@ public interface ProductService {
     ApiResponse<PageResponse<List<ProductResponse>>> getAllCMSProduct(int pageIndex,
                                                                       int pageSize,
                                                                       ProductCMSFilterRequest filterRequest);
-    ApiResponse<PageResponse<List<ProductResponse>>> getAllActiveProduct(int pageIndex,
-                                                                         int pageSize,
-                                                                         ProductFilterCustomerRequest filterRequest);
+    ApiResponse<PageResponse<List<ProductSummaryResponse>>> getAllActiveProduct(int pageIndex,
+                                                                                int pageSize,
+                                                                                ProductFilterCustomerRequest filterRequest);
     ApiResponse<ProductResponse> getProductById(Long id);
     ApiResponse<ProductResponse> getProductBySlug(String slug);
     ApiResponse<ProductResponse> createProduct(ProductRequest request,
@@ -28,6 +29,6 @@ public interface ProductService {
     ApiResponse<Void> deleteProduct(Long id);
 
     ApiResponse<Long> getTotalProduct();
-    ApiResponse<List<ProductResponse>> getTop15ProductsByNumberOfLikes();
-    ApiResponse<List<ProductResponse>> get15ProductByBrand(Long brandId);
+    ApiResponse<List<ProductSummaryResponse>> getTop15ProductsByNumberOfLikes();
+    ApiResponse<List<ProductSummaryResponse>> get15ProductByBrand(Long brandId);
 }
@@ -0,0 +1,15 @@
+package com.pharmacy.backend.service;
+
+import com.pharmacy.backend.dto.response.ApiResponse;
+import com.pharmacy.backend.dto.response.ProductImportJobResponse;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.OutputStream;
+
+public interface ProductTransferService {
+    ApiResponse<ProductImportJobResponse> startImport(MultipartFile file);
+
+    ApiResponse<ProductImportJobResponse> getImportJob(String jobId);
+
+    void exportProducts(OutputStream outputStream);
+}
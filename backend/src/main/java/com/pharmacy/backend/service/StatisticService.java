@@ -0,0 +1,30 @@
+package com.pharmacy.backend.service;
+
+import com.pharmacy.backend.dto.response.ApiResponse;
+import com.pharmacy.backend.dto.response.RevenueStatisticResponse;
+import com.pharmacy.backend.entity.Order;
+import com.pharmacy.backend.enums.OrderStatusEnum;
+import com.pharmacy.backend.enums.PaymentStatusEnum;
+import com.pharmacy.backend.enums.StatisticCounterEnum;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+public interface StatisticService {
+    void recordOrderCreated(Order order);
+
+    void recordOrderChanged(Order order, OrderStatusEnum previousStatus, PaymentStatusEnum previousPaymentStatus);
+
+    void recordCounter(StatisticCounterEnum counter, long delta);
+
+    Optional<Long> getCounter(StatisticCounterEnum counter);
+
+    long getTotalOrders();
+
+    long getTotalRevenue();
+
+    ApiResponse<List<RevenueStatisticResponse>> getRevenueByPeriod(LocalDate fromDate, LocalDate toDate, String groupBy);
+
+    ApiResponse<List<RevenueStatisticResponse>> getRevenueByPaymentMethod(LocalDate fromDate, LocalDate toDate);
+}
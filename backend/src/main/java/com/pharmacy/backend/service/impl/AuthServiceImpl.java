@@ -2,11 +2,13 @@ package com.pharmacy.backend.service.impl;
 
 import com.nimbusds.jose.JOSEException;
 import com.nimbusds.jwt.SignedJWT;
+import com.pharmacy.backend.cache.TokenRevocationCache;
 import com.pharmacy.backend.dto.request.*;
 import com.pharmacy.backend.dto.response.*;
 import com.pharmacy.backend.entity.*;
 import com.pharmacy.backend.enums.FileCategoryEnum;
 import com.pharmacy.backend.enums.RoleCodeEnum;
+import com.pharmacy.backend.enums.StatisticCounterEnum;
 import com.pharmacy.backend.exception.AppException;
 import com.pharmacy.backend.mapper.UserMapper;
 import com.pharmacy.backend.repository.*;
@@ -16,7 +18,7 @@ import com.pharmacy.backend.service.AuthService;
 import com.pharmacy.backend.service.CartService;
 import com.pharmacy.backend.service.EmailService;
 import com.pharmacy.backend.service.FileMetadataService;
-import jakarta.mail.MessagingException;
+import com.pharmacy.backend.service.StatisticService;
 import jakarta.transaction.Transactional;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
@@ -27,7 +29,6 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.UnsupportedEncodingException;
 import java.text.ParseException;
 import java.time.LocalDateTime;
 
@@ -41,12 +42,13 @@ public class AuthServiceImpl implements AuthService {
     PasswordEncoder passwordEncoder;
     RoleRepository roleRepository;
     JwtUtils jwtUtils;
-    InvalidatedTokenRepository invalidatedTokenRepository;
+    TokenRevocationCache tokenRevocationCache;
     FileMetadataService fileMetadataService;
     FileMetadataRepository fileMetadataRepository;
     CartService cartService;
     EmailService emailService;
     PasswordResetTokenRepository passwordResetTokenRepository;
+    StatisticService statisticService;
 
     @Transactional
     @Override
@@ -101,6 +103,7 @@ public class AuthServiceImpl implements AuthService {
         user.setProfilePic(fileMetadata.getUuid().toString());
 
         User savedUser = userRepository.save(user);
+        statisticService.recordCounter(StatisticCounterEnum.USER, 1);
         cartService.createCart(savedUser);
 
         UserResponse userResponse = userMapper.toUserResponse(savedUser);
@@ -150,12 +153,7 @@ public class AuthServiceImpl implements AuthService {
         String token = bearerToken.substring(7);
 
         SignedJWT jwt = SignedJWT.parse(token);
-        InvalidatedToken invalidatedToken = new InvalidatedToken(
-                jwt.getJWTClaimsSet().getJWTID(),
-                jwt.getJWTClaimsSet().getExpirationTime()
-        );
-
-        invalidatedTokenRepository.save(invalidatedToken);
+        tokenRevocationCache.revoke(jwt.getJWTClaimsSet().getJWTID(), jwt.getJWTClaimsSet().getExpirationTime());
         return ApiResponse.<String>builder()
                 .status(HttpStatus.OK.value())
                 .message("Đăng xuất thành công")
@@ -173,9 +171,7 @@ public class AuthServiceImpl implements AuthService {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new AppException(HttpStatus.NOT_FOUND, "Người dùng không tồn tại", "user"));
 
-        InvalidatedToken invalidatedToken = new InvalidatedToken(signedJWT.getJWTClaimsSet().getJWTID(),
-                signedJWT.getJWTClaimsSet().getExpirationTime());
-        invalidatedTokenRepository.save(invalidatedToken);
+        tokenRevocationCache.revoke(signedJWT.getJWTClaimsSet().getJWTID(), signedJWT.getJWTClaimsSet().getExpirationTime());
 
         String newToken = jwtUtils.generateToken(user);
         AuthResponse authResponse = new AuthResponse(newToken);
@@ -200,7 +196,9 @@ public class AuthServiceImpl implements AuthService {
         }
 
         user.setPassword(passwordEncoder.encode(request.getPassword()));
+        user.setTokenVersion(user.getTokenVersion() + 1);
         userRepository.save(user);
+        tokenRevocationCache.evictTokenVersion(user.getId());
 
         return ApiResponse.<String>builder()
                 .status(HttpStatus.OK.value())
@@ -225,7 +223,7 @@ public class AuthServiceImpl implements AuthService {
             passwordResetTokenRepository.save(passwordResetToken);
 
             emailService.sendResetEmail(user.getEmail(), token, expiryAt, request.isUser());
-        } catch (ParseException | MessagingException | UnsupportedEncodingException e) {
+        } catch (ParseException e) {
             throw new RuntimeException(e);
         }
 
@@ -254,7 +252,9 @@ public class AuthServiceImpl implements AuthService {
         }
 
         user.setPassword(passwordEncoder.encode(request.getPassword()));
+        user.setTokenVersion(user.getTokenVersion() + 1);
         userRepository.save(user);
+        tokenRevocationCache.evictTokenVersion(user.getId());
         passwordResetTokenRepository.delete(token);
 
         return ApiResponse.<Void>builder()
@@ -1,5 +1,8 @@
 package com.pharmacy.backend.service.impl;
 
+import com.pharmacy.backend.datasource.ReadOnlyTransactional;
+import com.pharmacy.backend.cache.CatalogVersionCache;
+import com.pharmacy.backend.cache.FileMetadataCache;
 import com.pharmacy.backend.dto.request.BlogRequest;
 import com.pharmacy.backend.dto.response.ApiResponse;
 import com.pharmacy.backend.dto.response.BlogResponse;
@@ -7,16 +10,17 @@ import com.pharmacy.backend.dto.response.PageResponse;
 import com.pharmacy.backend.entity.Blog;
 import com.pharmacy.backend.entity.Category;
 import com.pharmacy.backend.entity.FileMetadata;
+import com.pharmacy.backend.enums.CatalogAreaEnum;
 import com.pharmacy.backend.exception.AppException;
 import com.pharmacy.backend.mapper.BlogMapper;
 import com.pharmacy.backend.mapper.CategoryMapper;
 import com.pharmacy.backend.repository.BlogRepository;
 import com.pharmacy.backend.repository.CategoryRepository;
-import com.pharmacy.backend.repository.FileMetadataRepository;
 import com.pharmacy.backend.service.BlogService;
 import com.pharmacy.backend.service.FileMetadataService;
+import com.pharmacy.backend.slug.RetryOnSlugConflict;
+import com.pharmacy.backend.slug.SlugAllocator;
 import com.pharmacy.backend.specification.BlogSpecification;
-import com.pharmacy.backend.utils.SlugUtils;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -40,8 +44,11 @@ public class BlogServiceImpl implements BlogService {
     private final FileMetadataService fileMetadataService;
     private final CategoryRepository categoryRepository;
     private final CategoryMapper categoryMapper;
-    private final FileMetadataRepository fileMetadataRepository;
+    private final FileMetadataCache fileMetadataCache;
+    private final SlugAllocator slugAllocator;
+    private final CatalogVersionCache catalogVersionCache;
 
+    @ReadOnlyTransactional
     @Override
     public ApiResponse<PageResponse<List<BlogResponse>>> getAllBlogs(int pageIndex, int pageSize, String title, String category) {
         if(pageIndex <= 0) {
@@ -64,11 +71,12 @@ public class BlogServiceImpl implements BlogService {
         List<BlogResponse> blogResponses = blogPage.getContent().stream().map(
                 blog -> {
                     BlogResponse response = blogMapper.toBlogResponse(blog);
-                    FileMetadata fileMetadata = fileMetadataRepository.findByUuid(UUID.fromString(blog.getThumbnail()))
+                    FileMetadata fileMetadata = fileMetadataCache.findByUuid(UUID.fromString(blog.getThumbnail()))
                             .orElseThrow(() -> new AppException(HttpStatus.NOT_FOUND,
                                     "Không tìm thấy hình ảnh với ID: " + blog.getThumbnail(), "File not found"));
 
                     response.setThumbnail(fileMetadata.getUrl());
+                    response.setThumbnailVariants(fileMetadataService.getVariantUrls(fileMetadata));
                     return response;
                 }
         ).toList();
@@ -88,7 +96,7 @@ public class BlogServiceImpl implements BlogService {
         );
     }
 
-    @Transactional
+    @ReadOnlyTransactional
     @Override
     public ApiResponse<BlogResponse> getBlogBySlug(String slug) {
         Blog blog = blogRepository.findBySlug(slug)
@@ -96,10 +104,11 @@ public class BlogServiceImpl implements BlogService {
                         "Không tìm thấy bài viết với slug: " + slug, "Blog not found"));
         BlogResponse blogResponse = blogMapper.toBlogResponse(blog);
         blogResponse.setCategory(categoryMapper.toCategoryResponse(blog.getCategory()));
-        FileMetadata fileMetadata = fileMetadataRepository.findByUuid(UUID.fromString(blog.getThumbnail()))
+        FileMetadata fileMetadata = fileMetadataCache.findByUuid(UUID.fromString(blog.getThumbnail()))
                 .orElseThrow(() -> new AppException(HttpStatus.NOT_FOUND,
                         "Không tìm thấy hình ảnh với ID: " + blog.getThumbnail(), "File not found"));
         blogResponse.setThumbnail(fileMetadata.getUrl());
+        blogResponse.setThumbnailVariants(fileMetadataService.getVariantUrls(fileMetadata));
         return ApiResponse.buildResponse(
                 HttpStatus.OK.value(),
                 "Lấy bài viết thành công",
@@ -107,7 +116,7 @@ public class BlogServiceImpl implements BlogService {
         );
     }
 
-    @Transactional
+    @ReadOnlyTransactional
     @Override
     public ApiResponse<BlogResponse> getBlogById(Long id) {
         Blog blog = blogRepository.findById(id)
@@ -115,10 +124,11 @@ public class BlogServiceImpl implements BlogService {
                         "Không tìm thấy bài viết với ID: " + id, "Blog not found"));
         BlogResponse blogResponse = blogMapper.toBlogResponse(blog);
         blogResponse.setCategory(categoryMapper.toCategoryResponse(blog.getCategory()));
-        FileMetadata fileMetadata = fileMetadataRepository.findByUuid(UUID.fromString(blog.getThumbnail()))
+        FileMetadata fileMetadata = fileMetadataCache.findByUuid(UUID.fromString(blog.getThumbnail()))
                 .orElseThrow(() -> new AppException(HttpStatus.NOT_FOUND,
                         "Không tìm thấy hình ảnh với ID: " + blog.getThumbnail(), "File not found"));
         blogResponse.setThumbnail(fileMetadata.getUrl());
+        blogResponse.setThumbnailVariants(fileMetadataService.getVariantUrls(fileMetadata));
         return ApiResponse.buildResponse(
                 HttpStatus.OK.value(),
                 "Lấy bài viết thành công",
@@ -126,6 +136,7 @@ public class BlogServiceImpl implements BlogService {
         );
     }
 
+    @RetryOnSlugConflict
     @Transactional
     @Override
     public ApiResponse<BlogResponse> createBlog(BlogRequest request, MultipartFile thumbnail) {
@@ -134,12 +145,13 @@ public class BlogServiceImpl implements BlogService {
                         "Không tìm thấy danh mục với ID: " + request.getCategoryId(), "Category not found"));
 
         Blog blog = blogMapper.toBlog(request);
-        blog.setSlug(createSlug(blog.getTitle()));
+        blog.setSlug(createSlug(blog.getTitle(), null));
+        blog.setCategory(category);
+        Blog savedBlog = blogRepository.saveAndFlush(blog);
 
         var fileMetadata = fileMetadataService.storeFile(thumbnail, "BLOG");
-        blog.setThumbnail(fileMetadata.getData().getId().toString());
-        blog.setCategory(category);
-        Blog savedBlog = blogRepository.save(blog);
+        savedBlog.setThumbnail(fileMetadata.getData().getId().toString());
+        catalogVersionCache.bump(CatalogAreaEnum.BLOG);
 
         BlogResponse blogResponse = blogMapper.toBlogResponse(savedBlog);
         return ApiResponse.buildResponse(
@@ -149,6 +161,7 @@ public class BlogServiceImpl implements BlogService {
         );
     }
 
+    @RetryOnSlugConflict
     @Transactional
     @Override
     public ApiResponse<BlogResponse> updateBlog(Long id, BlogRequest request, MultipartFile thumbnail) {
@@ -156,7 +169,11 @@ public class BlogServiceImpl implements BlogService {
                 .orElseThrow(() -> new AppException(HttpStatus.NOT_FOUND,
                         "Không tìm thấy bài viết với ID: " + id, "Blog not found"));
 
+        String currentSlug = existingBlog.getSlug();
         Blog blogUpdateFromRequest = blogMapper.toBlogUpdateFromRequest(request, existingBlog);
+        blogUpdateFromRequest.setSlug(createSlug(blogUpdateFromRequest.getTitle(), currentSlug));
+        blogUpdateFromRequest.setUpdatedAt(LocalDateTime.now());
+        blogRepository.saveAndFlush(blogUpdateFromRequest);
 
         if (thumbnail != null && !thumbnail.isEmpty()) {
             fileMetadataService.deleteFile(existingBlog.getThumbnail());
@@ -166,10 +183,8 @@ public class BlogServiceImpl implements BlogService {
             blogUpdateFromRequest.setThumbnail(existingBlog.getThumbnail());
         }
 
-        blogUpdateFromRequest.setSlug(createSlug(blogUpdateFromRequest.getTitle()));
-        blogUpdateFromRequest.setUpdatedAt(LocalDateTime.now());
-
         Blog updatedBlog = blogRepository.save(blogUpdateFromRequest);
+        catalogVersionCache.bump(CatalogAreaEnum.BLOG);
         BlogResponse blogResponse = blogMapper.toBlogResponse(updatedBlog);
 
         return ApiResponse.buildResponse(
@@ -187,6 +202,7 @@ public class BlogServiceImpl implements BlogService {
                         "Không tìm thấy bài viết với ID: " + id, "Blog not found"));
 
         blogRepository.delete(blog);
+        catalogVersionCache.bump(CatalogAreaEnum.BLOG);
         return ApiResponse.buildResponse(
                 HttpStatus.OK.value(),
                 "Xóa bài viết thành công",
@@ -194,13 +210,7 @@ public class BlogServiceImpl implements BlogService {
         );
     }
 
-    private String createSlug(String name) {
-        String baseSlug = SlugUtils.generateSlug(name);
-        int cnt = 1;
-        String slug = baseSlug;
-        while(blogRepository.existsBySlug(slug)) {
-            slug = baseSlug + "-" + cnt++;
-        }
-        return slug;
+    private String createSlug(String name, String currentSlug) {
+        return slugAllocator.allocate(name, currentSlug, blogRepository::findSlugFamily);
     }
 }
@@ -1,15 +1,19 @@
 package com.pharmacy.backend.service.impl;
 
+import com.pharmacy.backend.cache.CatalogVersionCache;
+import com.pharmacy.backend.datasource.ReadOnlyTransactional;
 import com.pharmacy.backend.dto.request.BrandRequest;
 import com.pharmacy.backend.dto.response.ApiResponse;
 import com.pharmacy.backend.dto.response.BrandResponse;
 import com.pharmacy.backend.dto.response.PageResponse;
 import com.pharmacy.backend.entity.Brand;
+import com.pharmacy.backend.enums.CatalogAreaEnum;
 import com.pharmacy.backend.exception.AppException;
 import com.pharmacy.backend.mapper.BrandMapper;
 import com.pharmacy.backend.repository.BrandRepository;
 import com.pharmacy.backend.service.BrandService;
-import com.pharmacy.backend.utils.SlugUtils;
+import com.pharmacy.backend.slug.RetryOnSlugConflict;
+import com.pharmacy.backend.slug.SlugAllocator;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -26,8 +30,10 @@ import java.util.List;
 public class BrandServiceImpl implements BrandService {
     private final BrandRepository brandRepository;
     private final BrandMapper brandMapper;
+    private final SlugAllocator slugAllocator;
+    private final CatalogVersionCache catalogVersionCache;
 
-    @Transactional
+    @ReadOnlyTransactional
     @Override
     public ApiResponse<PageResponse<List<BrandResponse>>> getAllBrands(int pageIndex, int pageSize, String name) {
         if(pageIndex <= 0) {
@@ -62,6 +68,7 @@ public class BrandServiceImpl implements BrandService {
         );
     }
 
+    @ReadOnlyTransactional
     @Override
     public ApiResponse<List<BrandResponse>> getAllBrands() {
         List<Brand> brands = brandRepository.findAll();
@@ -77,7 +84,7 @@ public class BrandServiceImpl implements BrandService {
     }
 
 
-    @Transactional
+    @ReadOnlyTransactional
     @Override
     public ApiResponse<BrandResponse> getBrandById(Long id) {
         Brand brand = brandRepository.findById(id)
@@ -93,13 +100,15 @@ public class BrandServiceImpl implements BrandService {
         );
     }
 
+    @RetryOnSlugConflict
     @Transactional
     @Override
     public ApiResponse<BrandResponse> createBrand(BrandRequest request) {
         Brand brand = brandMapper.toBrand(request);
 
-        brand.setSlug(createSlug(brand.getName()));
+        brand.setSlug(createSlug(brand.getName(), null));
         brand = brandRepository.save(brand);
+        catalogVersionCache.bump(CatalogAreaEnum.BRAND);
 
         BrandResponse brandResponse = brandMapper.toBrandResponse(brand);
 
@@ -110,6 +119,7 @@ public class BrandServiceImpl implements BrandService {
         );
     }
 
+    @RetryOnSlugConflict
     @Transactional
     @Override
     public ApiResponse<BrandResponse> updateBrand(Long id, BrandRequest request) {
@@ -117,10 +127,12 @@ public class BrandServiceImpl implements BrandService {
                 .orElseThrow(() -> new AppException(HttpStatus.NOT_FOUND,
                         "Thương hiệu không tồn tại", "Brand not found with id: " + id));
 
+        String currentSlug = brand.getSlug();
         Brand updatedBrand = brandMapper.toBrandUpdateFromRequest(request, brand);
-        updatedBrand.setSlug(createSlug(updatedBrand.getName()));
+        updatedBrand.setSlug(createSlug(updatedBrand.getName(), currentSlug));
 
         brand = brandRepository.save(brand);
+        catalogVersionCache.bump(CatalogAreaEnum.BRAND);
 
         BrandResponse brandResponse = brandMapper.toBrandResponse(brand);
 
@@ -140,6 +152,7 @@ public class BrandServiceImpl implements BrandService {
                         "Thương hiệu không tồn tại", "Brand not found with id: " + id));
 
         brandRepository.delete(brand);
+        catalogVersionCache.bump(CatalogAreaEnum.BRAND);
 
         return ApiResponse.buildResponse(
                 HttpStatus.OK.value(),
@@ -148,13 +161,7 @@ public class BrandServiceImpl implements BrandService {
         );
     }
 
-    private String createSlug(String name) {
-        String baseSlug = SlugUtils.generateSlug(name);
-        int cnt = 1;
-        String slug = baseSlug;
-        while(brandRepository.existsBySlug(slug)) {
-            slug = baseSlug + "-" + cnt++;
-        }
-        return slug;
+    private String createSlug(String name, String currentSlug) {
+        return slugAllocator.allocate(name, currentSlug, brandRepository::findSlugFamily);
     }
 }
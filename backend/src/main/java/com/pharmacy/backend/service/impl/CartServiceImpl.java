@@ -1,5 +1,6 @@
 package com.pharmacy.backend.service.impl;
 
+import com.pharmacy.backend.cache.CartTotalCache;
 import com.pharmacy.backend.dto.request.CartItemRequest;
 import com.pharmacy.backend.dto.response.ApiResponse;
 import com.pharmacy.backend.dto.response.CartItemResponse;
@@ -11,17 +12,17 @@ import com.pharmacy.backend.mapper.ProductMapper;
 import com.pharmacy.backend.repository.*;
 import com.pharmacy.backend.security.SecurityUtils;
 import com.pharmacy.backend.service.CartService;
+import com.pharmacy.backend.service.FileMetadataService;
 import com.pharmacy.backend.utils.NumberUtils;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
-import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
@@ -29,9 +30,9 @@ public class CartServiceImpl implements CartService {
     private final CartRepository cartRepository;
     private final ProductMapper productMapper;
     private final CartItemRepository cartItemRepository;
-    private final UserRepository userRepository;
     private final ProductRepository productRepository;
-    private final FileMetadataRepository fileMetadataRepository;
+    private final FileMetadataService fileMetadataService;
+    private final CartTotalCache cartTotalCache;
 
     @Transactional
     @Override
@@ -47,39 +48,10 @@ public class CartServiceImpl implements CartService {
     @Transactional
     @Override
     public ApiResponse<CartResponse> getCart() {
-        User user = userRepository.findById(Objects.requireNonNull(SecurityUtils.getCurrentUserId()))
-                .orElseThrow(() -> new AppException(HttpStatus.UNAUTHORIZED,
-                        "Người dùng không hợp lệ", "Invalid user"));
-        Cart cart = cartRepository.findByUser(user)
-                .orElseThrow(() -> new AppException(HttpStatus.NOT_FOUND,
-                        "Giỏ hàng không tồn tại", "Cart not found for this user"));
+        long totalPrice = cartTotalCache.getSelectedTotal(Objects.requireNonNull(SecurityUtils.getCurrentUserId()));
+        Cart cart = getCurrentCartWithItems();
 
-        List<CartItem> items = cartItemRepository.findByCart(cart,
-                Sort.by(Sort.Direction.DESC, "createdAt"));
-
-        List<CartItemResponse> itemResponses = items.stream()
-                .map(cartItem -> {
-                    CartItemResponse cartItemResponse = CartItemResponse.builder()
-                            .id(cartItem.getId())
-                            .quantity(cartItem.getQuantity())
-                            .priceAtAddition(cartItem.getPriceAtAddition())
-                            .priceDifferent(Math.abs(cartItem.getPriceAtAddition() - cartItem.getProduct().getPriceNew()))
-                            .priceChangeType(NumberUtils.toPriceChangeType(cartItem.getProduct().getPriceNew() - cartItem.getPriceAtAddition()))
-                            .isOutOfStock(cartItem.isOutOfStock())
-                            .selected(cartItem.getSelected())
-                            .build();
-                    ProductResponse productResponse = productMapper.toProductResponse(cartItem.getProduct());
-                    FileMetadata fileMetadata = fileMetadataRepository.findByUuid(UUID.fromString(
-                            cartItem.getProduct().getThumbnail()))
-                            .orElseThrow(() -> new AppException(HttpStatus.NOT_FOUND,
-                                    "Ảnh sản phẩm không tồn tại", "Product image not found"));
-                    productResponse.setThumbnailUrl(fileMetadata.getUrl());
-                    cartItemResponse.setProduct(productResponse);
-                    return cartItemResponse;
-                })
-                .toList();
-
-        CartResponse response = new CartResponse(cart.getId(), cart.getTotalPrice(), itemResponses);
+        CartResponse response = new CartResponse(cart.getId(), totalPrice, toCartItemResponses(cart.getCartItems()));
         return ApiResponse.<CartResponse>builder()
                 .status(HttpStatus.OK.value())
                 .message("Lấy danh sách sản phẩm trong giỏ hàng thành công")
@@ -91,9 +63,6 @@ public class CartServiceImpl implements CartService {
     @Override
     @Transactional
     public ApiResponse<CartItemResponse> addItemToCart(CartItemRequest request) {
-        User user = userRepository.findById(Objects.requireNonNull(SecurityUtils.getCurrentUserId()))
-                .orElseThrow(() -> new AppException(HttpStatus.UNAUTHORIZED,
-                        "Người dùng không hợp lệ", "Invalid user"));
         if(request.getQuantity() <= 0) {
             throw new AppException(HttpStatus.BAD_REQUEST,
                     "Số lượng sản phẩm phải lớn hơn 0", "Invalid product quantity");
@@ -108,9 +77,7 @@ public class CartServiceImpl implements CartService {
                     "Số lượng sản phẩm không đủ", "Insufficient product quantity");
         }
 
-        Cart cart = cartRepository.findByUser(user)
-                .orElseThrow(() -> new AppException(HttpStatus.NOT_FOUND,
-                        "Giỏ hàng không tồn tại", "Cart not found for this user"));
+        Cart cart = getCurrentCart();
 
         CartItem existingItem = cartItemRepository.findByCartAndProduct(cart, product)
                 .orElse(null);
@@ -129,16 +96,11 @@ public class CartServiceImpl implements CartService {
             newItem.setQuantity(request.getQuantity());
             newItem.setPriceAtAddition(product.getPriceNew());
             newItem.setCart(cart);
-            cart.getCartItems().add(newItem);
             existingItem = cartItemRepository.save(newItem);
         }
+        cartTotalCache.invalidate(cart.getUser().getId());
 
-        CartItemResponse response = CartItemResponse.builder()
-                .id(existingItem.getId())
-                .product(productMapper.toProductResponse(product))
-                .quantity(existingItem.getQuantity())
-                .priceAtAddition(product.getPriceNew())
-                .build();
+        CartItemResponse response = toCartItemResponses(List.of(existingItem)).getFirst();
 
         return ApiResponse.buildResponse(
                 HttpStatus.CREATED.value(),
@@ -150,12 +112,7 @@ public class CartServiceImpl implements CartService {
     @Override
     @Transactional
     public ApiResponse<CartItemResponse> updateItemQuantity(Long itemId, Long quantity) {
-        User user = userRepository.findById(Objects.requireNonNull(SecurityUtils.getCurrentUserId()))
-                .orElseThrow(() -> new AppException(HttpStatus.UNAUTHORIZED,
-                        "Người dùng không hợp lệ", "Invalid user"));
-        Cart cart = cartRepository.findByUser(user)
-                .orElseThrow(() -> new AppException(HttpStatus.NOT_FOUND,
-                        "Giỏ hàng không tồn tại", "Cart not found for this user"));
+        Cart cart = getCurrentCart();
 
         CartItem item = cartItemRepository.findByCartAndId(cart, itemId)
                 .orElseThrow(() -> new AppException(HttpStatus.NOT_FOUND,
@@ -166,24 +123,11 @@ public class CartServiceImpl implements CartService {
                     "Số lượng sản phẩm không đủ", "Insufficient product quantity");
         }
 
-        if(item.isSelected()) {
-            cart.setTotalPrice(
-                    item.getQuantity() < quantity ?
-                            cart.getTotalPrice() + (item.getProduct().getPriceNew() * (quantity - item.getQuantity())) :
-                            cart.getTotalPrice() - item.getProduct().getPriceNew() * (item.getQuantity() - quantity)
-            );
-        }
         item.setQuantity(quantity);
-
         cartItemRepository.save(item);
-        cartRepository.save(cart);
+        cartTotalCache.invalidate(cart.getUser().getId());
 
-        CartItemResponse response = CartItemResponse.builder()
-                .id(item.getId())
-                .product(productMapper.toProductResponse(item.getProduct()))
-                .quantity(item.getQuantity())
-                .priceAtAddition(item.getPriceAtAddition())
-                .build();
+        CartItemResponse response = toCartItemResponses(List.of(item)).getFirst();
 
         return ApiResponse.buildResponse(
                 HttpStatus.OK.value(),
@@ -195,20 +139,14 @@ public class CartServiceImpl implements CartService {
     @Transactional
     @Override
     public ApiResponse<Void> removeItemFromCart(Long itemId) {
-        User user = userRepository.findById(Objects.requireNonNull(SecurityUtils.getCurrentUserId()))
-                .orElseThrow(() -> new AppException(HttpStatus.UNAUTHORIZED,
-                        "Người dùng không hợp lệ", "Invalid user"));
-        Cart cart = cartRepository.findByUser(user)
-                .orElseThrow(() -> new AppException(HttpStatus.NOT_FOUND,
-                        "Giỏ hàng không tồn tại", "Cart not found for this user"));
+        Cart cart = getCurrentCart();
 
         CartItem item = cartItemRepository.findByCartAndId(cart, itemId)
                 .orElseThrow(() -> new AppException(HttpStatus.NOT_FOUND,
                         "Sản phẩm trong giỏ hàng không tồn tại", "Cart item not found"));
 
         cartItemRepository.delete(item);
-        cart.setTotalPrice(cart.getTotalPrice() - item.getProduct().getPriceNew() * item.getQuantity());
-        cartRepository.save(cart);
+        cartTotalCache.invalidate(cart.getUser().getId());
 
         return ApiResponse.buildResponse(
                 HttpStatus.OK.value(),
@@ -220,22 +158,10 @@ public class CartServiceImpl implements CartService {
     @Transactional
     @Override
     public ApiResponse<Void> clearCart() {
-        User user = userRepository.findById(Objects.requireNonNull(SecurityUtils.getCurrentUserId()))
-                .orElseThrow(() -> new AppException(HttpStatus.UNAUTHORIZED,
-                        "Người dùng không hợp lệ", "Invalid user"));
-        Cart cart = cartRepository.findByUser(user)
-                .orElseThrow(() -> new AppException(HttpStatus.NOT_FOUND,
-                        "Giỏ hàng không tồn tại", "Cart not found for this user"));
+        Cart cart = getCurrentCart();
 
-        cart.getCartItems().forEach(item -> {
-            if (item.getSelected()) {
-                cart.setTotalPrice(cart.getTotalPrice() - item.getProduct().getPriceNew() * item.getQuantity());
-            }
-        });
-
-        cartItemRepository.deleteAll(cart.getCartItems());
-        cart.getCartItems().clear();
-        cartRepository.save(cart);
+        cartItemRepository.deleteAllByCart(cart);
+        cartTotalCache.invalidate(cart.getUser().getId());
 
         return ApiResponse.buildResponse(
                 HttpStatus.OK.value(),
@@ -247,12 +173,7 @@ public class CartServiceImpl implements CartService {
     @Transactional
     @Override
     public ApiResponse<CartItemResponse> changeItemSelection(Long itemId, Boolean status) {
-        User user = userRepository.findById(Objects.requireNonNull(SecurityUtils.getCurrentUserId()))
-                .orElseThrow(() -> new AppException(HttpStatus.UNAUTHORIZED,
-                        "Người dùng không hợp lệ", "Invalid user"));
-        Cart cart = cartRepository.findByUser(user)
-                .orElseThrow(() -> new AppException(HttpStatus.NOT_FOUND,
-                        "Giỏ hàng không tồn tại", "Cart not found for this user"));
+        Cart cart = getCurrentCart();
 
         CartItem item = cartItemRepository.findByCartAndId(cart, itemId)
                 .orElseThrow(() -> new AppException(HttpStatus.NOT_FOUND,
@@ -265,21 +186,11 @@ public class CartServiceImpl implements CartService {
 
         if(!item.getSelected().equals(status)) {
             item.setSelected(status);
-            cart.setTotalPrice(cart.getTotalPrice() + (item.isSelected() ? item.getProduct().getPriceNew() * item.getQuantity()
-                    : -item.getProduct().getPriceNew() * item.getQuantity()));
             cartItemRepository.save(item);
-            cartRepository.save(cart);
+            cartTotalCache.invalidate(cart.getUser().getId());
         }
 
-        CartItemResponse response = CartItemResponse.builder()
-                .id(item.getId())
-                .product(productMapper.toProductResponse(item.getProduct()))
-                .quantity(item.getQuantity())
-                .priceAtAddition(item.getPriceAtAddition())
-                .selected(item.getSelected())
-                .isOutOfStock(item.isOutOfStock())
-                .priceDifferent(Math.abs(item.getPriceAtAddition() - item.getProduct().getPriceNew()))
-                .build();
+        CartItemResponse response = toCartItemResponses(List.of(item)).getFirst();
 
         return ApiResponse.buildResponse(
                 HttpStatus.OK.value(),
@@ -291,43 +202,17 @@ public class CartServiceImpl implements CartService {
     @Transactional
     @Override
     public ApiResponse<List<CartItemResponse>> selectAllItems(Boolean status) {
-        User user = userRepository.findById(Objects.requireNonNull(SecurityUtils.getCurrentUserId()))
-                .orElseThrow(() -> new AppException(HttpStatus.UNAUTHORIZED,
-                        "Người dùng không hợp lệ", "Invalid user"));
-        Cart cart = cartRepository.findByUser(user)
-                .orElseThrow(() -> new AppException(HttpStatus.NOT_FOUND,
-                        "Giỏ hàng không tồn tại", "Cart not found for this user"));
+        Cart cart = getCurrentCartWithItems();
 
-        List<CartItem> items = cartItemRepository.findAllByCartAndSelected(cart, !status);
-
-        items.forEach(item -> {
-            boolean wasSelected = item.isSelected();
+        List<CartItem> items = cart.getCartItems().stream()
+                .filter(item -> item.isSelected() != status)
+                .toList();
 
-            if (wasSelected != status) {
-                item.setSelected(status);
-                long change = item.getProduct().getPriceNew() * item.getQuantity();
-                if (status) {
-                    cart.setTotalPrice(cart.getTotalPrice() + change);
-                } else {
-                    cart.setTotalPrice(cart.getTotalPrice() - change);
-                }
-                cartItemRepository.save(item);
-            }
-        });
+        cartItemRepository.updateSelectedByCart(cart, status);
+        cartTotalCache.invalidate(cart.getUser().getId());
+        items.forEach(item -> item.setSelected(status));
 
-        cartRepository.save(cart);
-
-        List<CartItemResponse> responses = items.stream()
-                .map(item -> CartItemResponse.builder()
-                        .id(item.getId())
-                        .product(productMapper.toProductResponse(item.getProduct()))
-                        .quantity(item.getQuantity())
-                        .priceAtAddition(item.getPriceAtAddition())
-                        .selected(item.getSelected())
-                        .isOutOfStock(item.isOutOfStock())
-                        .priceDifferent(Math.abs(item.getPriceAtAddition() - item.getProduct().getPriceNew()))
-                        .build())
-                .toList();
+        List<CartItemResponse> responses = toCartItemResponses(items);
 
         return ApiResponse.buildResponse(
                 HttpStatus.OK.value(),
@@ -339,38 +224,14 @@ public class CartServiceImpl implements CartService {
     @Transactional
     @Override
     public ApiResponse<List<CartResponse>> getCartItemsForCheckout() {
-        User user = userRepository.findById(Objects.requireNonNull(SecurityUtils.getCurrentUserId()))
-                .orElseThrow(() -> new AppException(HttpStatus.UNAUTHORIZED,
-                        "Người dùng không hợp lệ", "Invalid user"));
-        Cart cart = cartRepository.findByUser(user)
-                .orElseThrow(() -> new AppException(HttpStatus.NOT_FOUND,
-                        "Giỏ hàng không tồn tại", "Cart not found for this user"));
+        long totalPrice = cartTotalCache.getSelectedTotal(Objects.requireNonNull(SecurityUtils.getCurrentUserId()));
+        Cart cart = getCurrentCartWithItems();
 
-        List<CartItem> items = cartItemRepository.findAllByCartAndSelected(cart, true);
-
-        List<CartItemResponse> itemResponses = items.stream()
-                .map(cartItem -> {
-                    CartItemResponse cartItemResponse = CartItemResponse.builder()
-                            .id(cartItem.getId())
-                            .quantity(cartItem.getQuantity())
-                            .priceAtAddition(cartItem.getPriceAtAddition())
-                            .priceDifferent(Math.abs(cartItem.getPriceAtAddition() - cartItem.getProduct().getPriceNew()))
-                            .priceChangeType(NumberUtils.toPriceChangeType(cartItem.getProduct().getPriceNew() - cartItem.getPriceAtAddition()))
-                            .isOutOfStock(cartItem.isOutOfStock())
-                            .selected(cartItem.getSelected())
-                            .build();
-                    ProductResponse productResponse = productMapper.toProductResponse(cartItem.getProduct());
-                    FileMetadata fileMetadata = fileMetadataRepository.findByUuid(UUID.fromString(
-                                    cartItem.getProduct().getThumbnail()))
-                            .orElseThrow(() -> new AppException(HttpStatus.NOT_FOUND,
-                                    "Ảnh sản phẩm không tồn tại", "Product image not found"));
-                    productResponse.setThumbnailUrl(fileMetadata.getUrl());
-                    cartItemResponse.setProduct(productResponse);
-                    return cartItemResponse;
-                })
-                .toList();
+        List<CartItemResponse> itemResponses = toCartItemResponses(cart.getCartItems().stream()
+                .filter(CartItem::isSelected)
+                .toList());
 
-        CartResponse response = new CartResponse(cart.getId(), cart.getTotalPrice(), itemResponses);
+        CartResponse response = new CartResponse(cart.getId(), totalPrice, itemResponses);
         return ApiResponse.<List<CartResponse>>builder()
                 .status(HttpStatus.OK.value())
                 .message("Lấy danh sách sản phẩm trong giỏ hàng thành công")
@@ -381,18 +242,7 @@ public class CartServiceImpl implements CartService {
 
     @Override
     public ApiResponse<Long> getTotalItemsInCart() {
-        User user = userRepository.findById(Objects.requireNonNull(SecurityUtils.getCurrentUserId()))
-                .orElseThrow(() -> new AppException(HttpStatus.UNAUTHORIZED,
-                        "Người dùng không hợp lệ", "Invalid user"));
-        Cart cart = cartRepository.findByUser(user)
-                .orElseThrow(() -> new AppException(HttpStatus.NOT_FOUND,
-                        "Giỏ hàng không tồn tại", "Cart not found for this user"));
-
-        List<CartItem> items = cartItemRepository.findAllByCart(cart);
-
-        Long totalItems = items.stream()
-                .mapToLong(CartItem::getQuantity)
-                .sum();
+        Long totalItems = cartTotalCache.getItemCount(Objects.requireNonNull(SecurityUtils.getCurrentUserId()));
 
         return ApiResponse.<Long>builder()
                 .status(HttpStatus.OK.value())
@@ -401,4 +251,48 @@ public class CartServiceImpl implements CartService {
                 .timestamp(LocalDateTime.now())
                 .build();
     }
+
+    private Cart getCurrentCart() {
+        return cartRepository.findByUserId(Objects.requireNonNull(SecurityUtils.getCurrentUserId()))
+                .orElseThrow(() -> new AppException(HttpStatus.NOT_FOUND,
+                        "Giỏ hàng không tồn tại", "Cart not found for this user"));
+    }
+
+    private Cart getCurrentCartWithItems() {
+        return cartRepository.findWithItemsByUserId(Objects.requireNonNull(SecurityUtils.getCurrentUserId()))
+                .orElseThrow(() -> new AppException(HttpStatus.NOT_FOUND,
+                        "Giỏ hàng không tồn tại", "Cart not found for this user"));
+    }
+
+    private List<CartItemResponse> toCartItemResponses(List<CartItem> items) {
+        List<String> thumbnails = items.stream()
+                .map(item -> item.getProduct().getThumbnail())
+                .toList();
+        Map<String, String> thumbnailUrls = fileMetadataService.getFileUrls(thumbnails);
+        Map<String, Map<String, String>> thumbnailVariants = fileMetadataService.getFileVariants(thumbnails);
+
+        return items.stream()
+                .map(item -> {
+                    Product product = item.getProduct();
+                    if (product.getThumbnail() == null || !thumbnailUrls.containsKey(product.getThumbnail())) {
+                        throw new AppException(HttpStatus.NOT_FOUND,
+                                "Ảnh sản phẩm không tồn tại", "Product image not found");
+                    }
+                    ProductResponse productResponse = productMapper.toProductResponse(product);
+                    productResponse.setThumbnailUrl(thumbnailUrls.get(product.getThumbnail()));
+                    productResponse.setThumbnailVariants(thumbnailVariants.getOrDefault(product.getThumbnail(), Map.of()));
+
+                    return CartItemResponse.builder()
+                            .id(item.getId())
+                            .product(productResponse)
+                            .quantity(item.getQuantity())
+                            .priceAtAddition(item.getPriceAtAddition())
+                            .priceDifferent(Math.abs(item.getPriceAtAddition() - product.getPriceNew()))
+                            .priceChangeType(NumberUtils.toPriceChangeType(product.getPriceNew() - item.getPriceAtAddition()))
+                            .isOutOfStock(item.isOutOfStock())
+                            .selected(item.getSelected())
+                            .build();
+                })
+                .toList();
+    }
 }
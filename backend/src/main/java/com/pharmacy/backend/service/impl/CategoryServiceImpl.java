@@ -1,19 +1,24 @@
 package com.pharmacy.backend.service.impl;
 
+import com.pharmacy.backend.datasource.ReadOnlyTransactional;
+import com.pharmacy.backend.cache.CatalogVersionCache;
+import com.pharmacy.backend.cache.CategoryTreeCache;
+import com.pharmacy.backend.cache.FileMetadataCache;
 import com.pharmacy.backend.dto.request.CategoryRequest;
 import com.pharmacy.backend.dto.response.ApiResponse;
 import com.pharmacy.backend.dto.response.CategoryParentAndChildResponse;
 import com.pharmacy.backend.dto.response.CategoryResponse;
 import com.pharmacy.backend.entity.Category;
 import com.pharmacy.backend.entity.FileMetadata;
+import com.pharmacy.backend.enums.CatalogAreaEnum;
 import com.pharmacy.backend.enums.CategoryTypeEnum;
 import com.pharmacy.backend.exception.AppException;
 import com.pharmacy.backend.mapper.CategoryMapper;
 import com.pharmacy.backend.repository.CategoryRepository;
-import com.pharmacy.backend.repository.FileMetadataRepository;
 import com.pharmacy.backend.service.CategoryService;
 import com.pharmacy.backend.service.FileMetadataService;
-import com.pharmacy.backend.utils.SlugUtils;
+import com.pharmacy.backend.slug.RetryOnSlugConflict;
+import com.pharmacy.backend.slug.SlugAllocator;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -28,13 +33,15 @@ public class CategoryServiceImpl implements CategoryService {
     private final CategoryRepository categoryRepository;
     private final CategoryMapper categoryMapper;
     private final FileMetadataService fileMetadataService;
-    private final FileMetadataRepository fileMetadataRepository;
+    private final FileMetadataCache fileMetadataCache;
+    private final CategoryTreeCache categoryTreeCache;
+    private final SlugAllocator slugAllocator;
+    private final CatalogVersionCache catalogVersionCache;
 
-    @Transactional
+    @ReadOnlyTransactional
     @Override
     public ApiResponse<List<CategoryResponse>> getAllCategories() {
-        List<Category> categories = categoryRepository.findAll();
-        List<CategoryResponse> response = buildTree(categories);
+        List<CategoryResponse> response = categoryTreeCache.getAll();
         return ApiResponse.buildResponse(
                 HttpStatus.OK.value(),
                 "Lấy danh mục thành công",
@@ -42,7 +49,7 @@ public class CategoryServiceImpl implements CategoryService {
         );
     }
 
-    @Transactional
+    @ReadOnlyTransactional
     @Override
     public ApiResponse<List<CategoryParentAndChildResponse>> getAllCategoriesByParentSlug(String parentSlug) {
         CategoryParentAndChildResponse response = new CategoryParentAndChildResponse();
@@ -51,9 +58,10 @@ public class CategoryServiceImpl implements CategoryService {
                         "Không tìm thấy danh mục với slug: " + parentSlug, "Category not found"));
 
         response.setParent(categoryMapper.toCategoryResponse(parentCategory));
-        FileMetadata parentFileMetadata = fileMetadataRepository.findByUuid(UUID.fromString(parentCategory.getThumbnail()))
+        FileMetadata parentFileMetadata = fileMetadataCache.findByUuid(UUID.fromString(parentCategory.getThumbnail()))
                 .orElseThrow(() -> new AppException(HttpStatus.NOT_FOUND, "Thumbnail không tồn tại", "Thumbnail not found"));
         response.getParent().setThumbnail(parentFileMetadata.getUrl());
+        response.getParent().setThumbnailVariants(fileMetadataService.getVariantUrls(parentFileMetadata));
 
         List<Category> childCategories = categoryRepository.findByParent(parentCategory);
 
@@ -61,9 +69,10 @@ public class CategoryServiceImpl implements CategoryService {
                 .map(
                         category -> {
                             CategoryResponse childResponse = categoryMapper.toCategoryResponse(category);
-                            FileMetadata fileMetadata = fileMetadataRepository.findByUuid(UUID.fromString(category.getThumbnail()))
+                            FileMetadata fileMetadata = fileMetadataCache.findByUuid(UUID.fromString(category.getThumbnail()))
                                     .orElseThrow(() -> new AppException(HttpStatus.NOT_FOUND, "Thumbnail không tồn tại", "Thumbnail not found"));
                             childResponse.setThumbnail(fileMetadata.getUrl());
+                            childResponse.setThumbnailVariants(fileMetadataService.getVariantUrls(fileMetadata));
                             childResponse.setParentId(parentCategory.getId());
                             return childResponse;
                         }
@@ -76,16 +85,17 @@ public class CategoryServiceImpl implements CategoryService {
         );
     }
 
-    @Transactional
+    @ReadOnlyTransactional
     @Override
     public ApiResponse<CategoryResponse> getCategoryById(Long id) {
         Category category = categoryRepository.findById(id)
                 .orElseThrow(() -> new AppException(HttpStatus.NOT_FOUND, "Không tìm thấy danh mục với ID: " + id, "Category not found"));
 
         CategoryResponse response = categoryMapper.toCategoryResponse(category);
-        FileMetadata fileMetadata = fileMetadataRepository.findByUuid(UUID.fromString(category.getThumbnail()))
+        FileMetadata fileMetadata = fileMetadataCache.findByUuid(UUID.fromString(category.getThumbnail()))
                 .orElseThrow(() -> new AppException(HttpStatus.NOT_FOUND, "Thumbnail không tồn tại", "Thumbnail not found"));
         response.setThumbnail(fileMetadata.getUrl());
+        response.setThumbnailVariants(fileMetadataService.getVariantUrls(fileMetadata));
         return ApiResponse.buildResponse(
                 HttpStatus.OK.value(),
                 "Lấy danh mục thành công",
@@ -93,26 +103,29 @@ public class CategoryServiceImpl implements CategoryService {
         );
     }
 
+    @RetryOnSlugConflict
     @Transactional
     @Override
     public ApiResponse<CategoryResponse> createCategory(CategoryRequest request, MultipartFile thumbnail) {
         Category category = categoryMapper.toCategory(request);
 
-        category.setSlug(createSlug(category.getName()));
+        category.setSlug(createSlug(category.getName(), null));
         if(thumbnail == null || thumbnail.isEmpty()) {
             throw new AppException(HttpStatus.BAD_REQUEST, "Thumbnail không được để trống", "Thumbnail is required");
         }
 
-        var thumbnailResponse = fileMetadataService.storeFile(thumbnail, "CATEGORY");
-
-        category.setThumbnail(thumbnailResponse.getData().getId().toString());
         if(request.getParentId() != null) {
             Category parentCategory = categoryRepository.findById(request.getParentId())
                     .orElseThrow(() -> new AppException(HttpStatus.NOT_FOUND,
                             "Không tìm thấy danh mục cha với ID: " + request.getParentId(), "Parent category not found"));
             category.setParent(parentCategory);
         }
-        Category savedCategory = categoryRepository.save(category);
+        Category savedCategory = categoryRepository.saveAndFlush(category);
+
+        var thumbnailResponse = fileMetadataService.storeFile(thumbnail, "CATEGORY");
+        savedCategory.setThumbnail(thumbnailResponse.getData().getId().toString());
+        categoryTreeCache.invalidate();
+        catalogVersionCache.bump(CatalogAreaEnum.CATEGORY);
 
         CategoryResponse response = categoryMapper.toCategoryResponse(savedCategory);
         return ApiResponse.buildResponse(
@@ -122,20 +135,16 @@ public class CategoryServiceImpl implements CategoryService {
         );
     }
 
+    @RetryOnSlugConflict
     @Transactional
     @Override
     public ApiResponse<CategoryResponse> updateCategory(Long id, CategoryRequest request, MultipartFile thumbnail) {
         Category existingCategory = categoryRepository.findById(id)
                 .orElseThrow(() -> new AppException(HttpStatus.NOT_FOUND, "Không tìm thấy danh mục với ID: " + id, "Category not found"));
 
+        String currentSlug = existingCategory.getSlug();
         Category updatedCategory = categoryMapper.toCategoryUpdateFromRequest(request, existingCategory);
-        updatedCategory.setSlug(createSlug(updatedCategory.getName()));
-
-        if (thumbnail != null && !thumbnail.isEmpty()) {
-            fileMetadataService.deleteFile(existingCategory.getThumbnail());
-            var thumbnailResponse = fileMetadataService.storeFile(thumbnail, "CATEGORY");
-            updatedCategory.setThumbnail(thumbnailResponse.getData().getId().toString());
-        }
+        updatedCategory.setSlug(createSlug(updatedCategory.getName(), currentSlug));
 
         if(request.getParentId() != null) {
             Category parentCategory = categoryRepository.findById(request.getParentId())
@@ -145,8 +154,15 @@ public class CategoryServiceImpl implements CategoryService {
         } else {
             updatedCategory.setParent(null);
         }
+        Category savedCategory = categoryRepository.saveAndFlush(updatedCategory);
 
-        Category savedCategory = categoryRepository.save(updatedCategory);
+        if (thumbnail != null && !thumbnail.isEmpty()) {
+            fileMetadataService.deleteFile(existingCategory.getThumbnail());
+            var thumbnailResponse = fileMetadataService.storeFile(thumbnail, "CATEGORY");
+            savedCategory.setThumbnail(thumbnailResponse.getData().getId().toString());
+        }
+        categoryTreeCache.invalidate();
+        catalogVersionCache.bump(CatalogAreaEnum.CATEGORY);
 
         CategoryResponse response = categoryMapper.toCategoryResponse(savedCategory);
         return ApiResponse.buildResponse(
@@ -168,6 +184,8 @@ public class CategoryServiceImpl implements CategoryService {
 
         fileMetadataService.deleteFile(category.getThumbnail());
         categoryRepository.delete(category);
+        categoryTreeCache.invalidate();
+        catalogVersionCache.bump(CatalogAreaEnum.CATEGORY);
 
         return ApiResponse.buildResponse(
                 HttpStatus.OK.value(),
@@ -176,10 +194,10 @@ public class CategoryServiceImpl implements CategoryService {
         );
     }
 
+    @ReadOnlyTransactional
     @Override
     public ApiResponse<List<CategoryResponse>> getAllProductCategories() {
-        List<Category> categories = categoryRepository.findByType(CategoryTypeEnum.PRODUCT);
-        List<CategoryResponse> response = buildTree(categories);
+        List<CategoryResponse> response = categoryTreeCache.getByType(CategoryTypeEnum.PRODUCT);
         return ApiResponse.buildResponse(
                 HttpStatus.OK.value(),
                 "Lấy danh mục sản phẩm thành công",
@@ -188,10 +206,10 @@ public class CategoryServiceImpl implements CategoryService {
     }
 
 
+    @ReadOnlyTransactional
     @Override
     public ApiResponse<List<CategoryResponse>> getAllBlogCategories() {
-        List<Category> categories = categoryRepository.findByType(CategoryTypeEnum.BLOG);
-        List<CategoryResponse> response = buildTree(categories);
+        List<CategoryResponse> response = categoryTreeCache.getByType(CategoryTypeEnum.BLOG);
         return ApiResponse.buildResponse(
                 HttpStatus.OK.value(),
                 "Lấy danh mục blog thành công",
@@ -199,41 +217,7 @@ public class CategoryServiceImpl implements CategoryService {
         );
     }
 
-    private String createSlug(String name) {
-        String baseSlug = SlugUtils.generateSlug(name);
-        int cnt = 1;
-        String slug = baseSlug;
-        while(categoryRepository.existsBySlug(slug)) {
-            slug = baseSlug + "-" + cnt++;
-        }
-        return slug;
-    }
-
-    List<CategoryResponse> buildTree(List<Category> allCategories) {
-        Map<Long, CategoryResponse> map = new HashMap<>();
-        List<CategoryResponse> roots = new ArrayList<>();
-
-        for (Category c : allCategories) {
-            CategoryResponse dto = categoryMapper.toCategoryResponse(c);
-            FileMetadata fileMetadata = fileMetadataRepository.findByUuid(UUID.fromString(c.getThumbnail()))
-                    .orElseThrow(() -> new AppException(HttpStatus.NOT_FOUND, "Thumbnail không tồn tại", "Thumbnail not found"));
-            dto.setThumbnail(fileMetadata.getUrl());
-            dto.setChildren(new ArrayList<>());
-            map.put(c.getId(), dto);
-        }
-
-        for (Category c : allCategories) {
-            Long parentId = c.getParent() != null ? c.getParent().getId() : null;
-            if (parentId == null) {
-                roots.add(map.get(c.getId()));
-            } else {
-                CategoryResponse parent = map.get(parentId);
-                if (parent != null) {
-                    parent.getChildren().add(map.get(c.getId()));
-                }
-            }
-        }
-
-        return roots;
+    private String createSlug(String name, String currentSlug) {
+        return slugAllocator.allocate(name, currentSlug, categoryRepository::findSlugFamily);
     }
 }
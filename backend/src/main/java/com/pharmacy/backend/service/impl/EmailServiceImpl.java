@@ -1,44 +1,35 @@
 package com.pharmacy.backend.service.impl;
 
+import com.pharmacy.backend.dto.response.ApiResponse;
+import com.pharmacy.backend.dto.response.EmailOutboxStatsResponse;
 import com.pharmacy.backend.entity.*;
+import com.pharmacy.backend.enums.EmailStatusEnum;
+import com.pharmacy.backend.mail.EmailOutboxDispatcher;
+import com.pharmacy.backend.repository.EmailOutboxRepository;
 import com.pharmacy.backend.service.EmailService;
 import com.pharmacy.backend.utils.EmailUtils;
-import jakarta.mail.MessagingException;
-import jakarta.mail.internet.MimeMessage;
+import com.pharmacy.backend.utils.TransactionUtils;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
-import java.io.UnsupportedEncodingException;
 import java.time.LocalDateTime;
 
 @Service
 @RequiredArgsConstructor
 public class EmailServiceImpl implements EmailService {
-    private final JavaMailSender mailSender;
-
-    @Value("${spring.mail.username}")
-    private String fromEmail;
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final EmailOutboxDispatcher emailOutboxDispatcher;
 
     private final EmailUtils emailUtils;
 
     @Override
-    public void sendOrderConfirmationEmail(Order order, String userEmail)
-            throws MessagingException, UnsupportedEncodingException {
+    public void sendOrderConfirmationEmail(Order order, String userEmail) {
         String subject = "Xác nhận đơn hàng #" + order.getId();
         String html = EmailUtils.buildOrderConfirmationEmail(order.getCustomerName(),
                 order.getCustomerPhoneNumber(), order.getCustomerAddress(), order, EmailUtils.buildOrderDetailRow(order.getOrderDetails()));
 
-        MimeMessage message = mailSender.createMimeMessage();
-        MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
-        helper.setTo(userEmail);
-        helper.setSubject(subject);
-        helper.setText(html, true);
-        helper.setFrom(fromEmail, "Nhà Thuốc Pharmacy");
-
-        mailSender.send(message);
+        send(userEmail, subject, html);
     }
 
     @Override
@@ -53,18 +44,25 @@ public class EmailServiceImpl implements EmailService {
         send(email, subject, html);
     }
 
+    @Override
+    public ApiResponse<EmailOutboxStatsResponse> getOutboxStats() {
+        return ApiResponse.buildResponse(
+                HttpStatus.OK.value(),
+                "Lấy thống kê hàng đợi email thành công",
+                emailOutboxDispatcher.getStats()
+        );
+    }
+
     public void send(String to, String subject, String body) {
-        try {
-            MimeMessage message = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
-            helper.setTo(to);
-            helper.setSubject(subject);
-            helper.setText(body, true);
-            helper.setFrom(fromEmail, "Nhà Thuốc Pharmacy");
+        emailOutboxRepository.save(EmailOutbox.builder()
+                .recipient(to)
+                .subject(subject)
+                .body(body)
+                .status(EmailStatusEnum.PENDING)
+                .attempts(0)
+                .nextAttemptAt(LocalDateTime.now())
+                .build());
 
-            mailSender.send(message);
-        } catch (MessagingException | UnsupportedEncodingException e) {
-            throw new RuntimeException("Failed to send email", e);
-        }
+        TransactionUtils.afterCommit(emailOutboxDispatcher::wakeUp);
     }
 }
@@ -1,29 +1,46 @@
 package com.pharmacy.backend.service.impl;
 
-import com.cloudinary.Cloudinary;
-import com.cloudinary.utils.ObjectUtils;
+import com.pharmacy.backend.cache.FileMetadataCache;
 import com.pharmacy.backend.config.FileStorageProperties;
 import com.pharmacy.backend.dto.response.ApiResponse;
+import com.pharmacy.backend.dto.response.CacheStatsResponse;
 import com.pharmacy.backend.dto.response.FileMetadataResponse;
+import com.pharmacy.backend.dto.response.FileResourceResponse;
 import com.pharmacy.backend.entity.FileMetadata;
 import com.pharmacy.backend.enums.FileCategoryEnum;
 import com.pharmacy.backend.exception.AppException;
 import com.pharmacy.backend.repository.FileMetadataRepository;
 import com.pharmacy.backend.repository.UserRepository;
 import com.pharmacy.backend.service.FileMetadataService;
+import com.pharmacy.backend.storage.StorageBackend;
+import com.pharmacy.backend.utils.TransactionUtils;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.core.io.FileSystemResource;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.BufferedInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.net.URLConnection;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.LocalDateTime;
-import java.util.Map;
-import java.util.Optional;
-import java.util.UUID;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 @RequiredArgsConstructor
 @Service
@@ -32,69 +49,300 @@ public class FileMetadataServiceImpl implements FileMetadataService {
 
     private final FileMetadataRepository fileMetadataRepository;
     private final UserRepository userRepository;
-    private final Cloudinary cloudinary;
+    private final StorageBackend storageBackend;
+    private final FileMetadataCache fileMetadataCache;
+
+    private static final int UPLOAD_BUFFER_SIZE = 8192;
+    private static final Object TRANSFERRED_FILES_KEY = new Object();
+
+    @Value("${file.upload.parallelism:4}")
+    private int uploadParallelism;
+
+    private ExecutorService uploadExecutor;
+
+    @PostConstruct
+    void startUploadExecutor() {
+        uploadExecutor = Executors.newFixedThreadPool(uploadParallelism, Thread.ofVirtual().name("file-upload-", 0).factory());
+    }
+
+    @PreDestroy
+    void stopUploadExecutor() {
+        uploadExecutor.shutdown();
+    }
 
     @Transactional
     @Override
     public ApiResponse<FileMetadataResponse> storeFile(MultipartFile file, String category) {
         FileCategoryEnum fileCategoryEnum = FileCategoryEnum.valueOf(category.toUpperCase());
+        FileMetadata fileMetadata = store(List.of(file), fileCategoryEnum).getFirst();
+
+        FileMetadataResponse response = FileMetadataResponse.builder()
+                .id(fileMetadata.getUuid())
+                .storedFileName(fileMetadata.getStoredFileName())
+                .fileUrl(fileMetadata.getUrl())
+                .build();
+
+        return ApiResponse.<FileMetadataResponse>builder()
+                .status(HttpStatus.CREATED.value())
+                .message("Upload file thành công")
+                .data(response)
+                .timestamp(LocalDateTime.now())
+                .build();
+    }
+
+    @Transactional
+    @Override
+    public List<FileMetadata> storeFiles(List<MultipartFile> files, String category) {
+        return store(files, FileCategoryEnum.valueOf(category.toUpperCase()));
+    }
+
+    private List<FileMetadata> store(List<MultipartFile> files, FileCategoryEnum fileCategoryEnum) {
+        Map<MultipartFile, FileMetadata> transferred = transferredInTransaction();
+        FileMetadata[] stored = new FileMetadata[files.size()];
+        List<Integer> fresh = new ArrayList<>();
+        for (int i = 0; i < files.size(); i++) {
+            FileMetadata previous = transferred.get(files.get(i));
+            if (previous == null) {
+                fresh.add(i);
+            } else if (reuse(previous.getUuid())) {
+                stored[i] = previous;
+            } else {
+                throw new AppException(HttpStatus.INTERNAL_SERVER_ERROR, "Không thể upload file", "File already transferred");
+            }
+        }
+
+        List<SpooledFile> spooled = joinAll(fresh.stream()
+                .map(i -> CompletableFuture.supplyAsync(() -> spool(files.get(i)), uploadExecutor))
+                .toList(), spooledFile -> deleteQuietly(spooledFile.path()));
+        try {
+            Map<String, FileMetadata> existingByChecksum = fileMetadataRepository.findAllByChecksumIn(spooled.stream()
+                            .map(SpooledFile::checksum)
+                            .collect(Collectors.toSet()))
+                    .stream()
+                    .collect(Collectors.toMap(FileMetadata::getChecksum, fileMetadata -> fileMetadata, (first, second) -> first));
+
+            List<Integer> pending = new ArrayList<>();
+            for (int i = 0; i < spooled.size(); i++) {
+                FileMetadata existing = existingByChecksum.get(spooled.get(i).checksum());
+                if (existing != null && reuse(existing.getUuid())) {
+                    stored[fresh.get(i)] = existing;
+                } else {
+                    pending.add(i);
+                }
+            }
+
+            List<FileMetadata> created = joinAll(pending.stream()
+                    .map(i -> CompletableFuture.supplyAsync(() -> upload(spooled.get(i), fileCategoryEnum), uploadExecutor))
+                    .toList(), this::destroyQuietly);
+            destroyOnRollback(created);
+            fileMetadataRepository.saveAll(created).forEach(fileMetadataCache::put);
+            for (int i = 0; i < pending.size(); i++) {
+                stored[fresh.get(pending.get(i))] = created.get(i);
+            }
+            fresh.forEach(i -> transferred.put(files.get(i), stored[i]));
+            return Arrays.asList(stored);
+        } finally {
+            spooled.forEach(spooledFile -> deleteQuietly(spooledFile.path()));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<MultipartFile, FileMetadata> transferredInTransaction() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return new IdentityHashMap<>();
+        }
+        Map<MultipartFile, FileMetadata> transferred =
+                (Map<MultipartFile, FileMetadata>) TransactionSynchronizationManager.getResource(TRANSFERRED_FILES_KEY);
+        if (transferred == null) {
+            Map<MultipartFile, FileMetadata> bound = new IdentityHashMap<>();
+            TransactionSynchronizationManager.bindResource(TRANSFERRED_FILES_KEY, bound);
+            TransactionUtils.afterCompletion(
+                    () -> TransactionSynchronizationManager.unbindResourceIfPossible(TRANSFERRED_FILES_KEY));
+            transferred = bound;
+        }
+        return transferred;
+    }
+
+    private boolean reuse(UUID uuid) {
+        return fileMetadataRepository.findByUuidForUpdate(uuid).isPresent()
+                && fileMetadataRepository.incrementReferenceCount(uuid) > 0;
+    }
+
+    private <T> List<T> joinAll(List<CompletableFuture<T>> futures, Consumer<T> cleanup) {
+        List<T> results = new ArrayList<>();
+        RuntimeException failure = null;
+        for (CompletableFuture<T> future : futures) {
+            try {
+                results.add(future.join());
+            } catch (CompletionException e) {
+                if (failure == null) {
+                    failure = e.getCause() instanceof RuntimeException cause ? cause : e;
+                }
+            }
+        }
+        if (failure != null) {
+            results.forEach(cleanup);
+            throw failure;
+        }
+        return results;
+    }
+
+    private FileMetadata upload(SpooledFile spooled, FileCategoryEnum fileCategoryEnum) {
+        FileMetadata fileMetadata = FileMetadata.builder()
+                .originalFileName(spooled.originalFileName())
+                .storedFileName(UUID.randomUUID().toString())
+                .fileExtension(spooled.extension())
+                .fileSize(spooled.size())
+                .contentType(spooled.contentType())
+                .checksum(spooled.checksum())
+                .fileType(fileCategoryEnum.getSubDirectory())
+                .build();
+        try {
+            fileMetadata.setUrl(storageBackend.store(fileMetadata, spooled.path()));
+        } catch (IOException e) {
+            throw new AppException(HttpStatus.INTERNAL_SERVER_ERROR, "Không thể upload file", e.getMessage());
+        }
+        return fileMetadata;
+    }
+
+    private SpooledFile spool(MultipartFile file) {
         String originalFileName = file.getOriginalFilename();
         String extension = Optional.ofNullable(originalFileName)
                 .filter(f -> f.contains("."))
                 .map(f -> f.substring(originalFileName.lastIndexOf('.') + 1))
                 .orElse("Unknown");
 
-        String publicId = UUID.randomUUID().toString();
-
+        Path tempFile = null;
         try {
-            Map<String, Object> options = ObjectUtils.asMap(
-                    "folder", fileCategoryEnum.getSubDirectory(),
-                    "public_id", publicId,
-                    "overwrite", true,
-                    "resource_type", "auto"
-            );
-
-            Map uploadResult = cloudinary.uploader().upload(file.getBytes(), options);
-            String url = (String) uploadResult.get("secure_url");
-
-            FileMetadata fileMetadata = FileMetadata.builder()
-                    .originalFileName(originalFileName)
-                    .storedFileName(publicId)
-                    .fileExtension(extension)
-                    .fileSize(file.getSize())
-                    .contentType(file.getContentType())
-                    .fileType(fileCategoryEnum.getSubDirectory())
-                    .url(url)
-                    .build();
-
-            fileMetadata = fileMetadataRepository.save(fileMetadata);
-
-            FileMetadataResponse response = FileMetadataResponse.builder()
-                    .id(fileMetadata.getUuid())
-                    .storedFileName(publicId)
-                    .fileUrl(url)
-                    .build();
-
-            return ApiResponse.<FileMetadataResponse>builder()
-                    .status(HttpStatus.CREATED.value())
-                    .message("Upload file thành công")
-                    .data(response)
-                    .timestamp(LocalDateTime.now())
-                    .build();
+            tempFile = Files.createTempFile("upload-", "." + extension);
+            file.transferTo(tempFile.toFile());
+
+            MessageDigest digest = newSha256();
+            String sniffedType;
+            try (InputStream in = new BufferedInputStream(Files.newInputStream(tempFile), UPLOAD_BUFFER_SIZE)) {
+                sniffedType = URLConnection.guessContentTypeFromStream(in);
+                byte[] buffer = new byte[UPLOAD_BUFFER_SIZE];
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    digest.update(buffer, 0, read);
+                }
+            }
 
+            String contentType = sniffedType != null ? sniffedType : file.getContentType();
+            return new SpooledFile(tempFile, originalFileName, extension, Files.size(tempFile),
+                    contentType != null ? contentType : "application/octet-stream",
+                    HexFormat.of().formatHex(digest.digest()));
         } catch (IOException e) {
+            deleteQuietly(tempFile);
             throw new AppException(HttpStatus.INTERNAL_SERVER_ERROR, "Không thể upload file", e.getMessage());
         }
     }
 
+    private MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Could not delete temporary upload {}", path, e);
+        }
+    }
+
+    private void destroyOnRollback(List<FileMetadata> uploaded) {
+        TransactionUtils.afterRollback(() -> uploaded.forEach(this::destroyQuietly));
+    }
+
+    private void destroyQuietly(FileMetadata fileMetadata) {
+        try {
+            storageBackend.delete(fileMetadata);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not remove uploaded file {} after a failed upload", fileMetadata.getStoredFileName(), e);
+        }
+    }
+
+    @Override
+    public FileResourceResponse downloadFile(String uuidStr) {
+        return resolveResource(uuidStr);
+    }
+
+    @Override
+    public FileResourceResponse loadFile(String uuidStr) {
+        return resolveResource(uuidStr);
+    }
+
+    private FileResourceResponse resolveResource(String uuidStr) {
+        FileMetadata fileMetadata = fileMetadataCache.findByUuid(UUID.fromString(uuidStr))
+                .orElseThrow(() -> new AppException(HttpStatus.NOT_FOUND, "Không tìm thấy tệp tin", "File not found"));
+
+        String etag = fileMetadata.getChecksum() != null
+                ? fileMetadata.getChecksum()
+                : fileMetadata.getUuid() + "-" + fileMetadata.getFileSize();
+        return FileResourceResponse.builder()
+                .resource(storageBackend.load(fileMetadata).orElse(null))
+                .url(fileMetadata.getUrl())
+                .contentType(fileMetadata.getContentType())
+                .originalFileName(fileMetadata.getOriginalFileName())
+                .etag("\"" + etag + "\"")
+                .build();
+    }
+
+    @Override
+    public Map<String, String> getFileUrls(Collection<String> uuidStrs) {
+        Set<UUID> uuids = parseUuids(uuidStrs);
+        if (uuids.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<String, String> urls = new HashMap<>();
+        fileMetadataCache.findAllByUuidIn(uuids)
+                .forEach((uuid, fileMetadata) -> urls.put(uuid.toString(), fileMetadata.getUrl()));
+        return urls;
+    }
+
     @Override
-    public FileSystemResource downloadFile(String uuidStr) {
-        throw new UnsupportedOperationException("Download vật lý không hỗ trợ trong Cloudinary. Sử dụng URL.");
+    public Map<String, Map<String, String>> getFileVariants(Collection<String> uuidStrs) {
+        Set<UUID> uuids = parseUuids(uuidStrs);
+        if (uuids.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<String, Map<String, String>> variants = new HashMap<>();
+        fileMetadataCache.findAllByUuidIn(uuids)
+                .forEach((uuid, fileMetadata) -> variants.put(uuid.toString(), getVariantUrls(fileMetadata)));
+        return variants;
     }
 
     @Override
-    public FileSystemResource loadFile(String uuidStr) {
-        throw new UnsupportedOperationException("Không hỗ trợ đọc file vật lý từ Cloudinary.");
+    public Map<String, String> getVariantUrls(FileMetadata fileMetadata) {
+        return storageBackend.variantUrls(fileMetadata);
+    }
+
+    private Set<UUID> parseUuids(Collection<String> uuidStrs) {
+        if (uuidStrs == null || uuidStrs.isEmpty()) {
+            return Set.of();
+        }
+        return uuidStrs.stream()
+                .filter(Objects::nonNull)
+                .map(UUID::fromString)
+                .collect(Collectors.toSet());
+    }
+
+    @Override
+    public ApiResponse<CacheStatsResponse> getCacheStats() {
+        return ApiResponse.buildResponse(
+                HttpStatus.OK.value(),
+                "Lấy thống kê bộ nhớ đệm thành công",
+                fileMetadataCache.getStats()
+        );
     }
 
     @Transactional
@@ -102,26 +350,24 @@ public class FileMetadataServiceImpl implements FileMetadataService {
     public void deleteFile(String uuidStr) {
         if (uuidStr == null || uuidStr.isEmpty()) return;
 
-        FileMetadata fileMetadata = fileMetadataRepository.findByUuid(UUID.fromString(uuidStr))
+        FileMetadata fileMetadata = fileMetadataRepository.findByUuidForUpdate(UUID.fromString(uuidStr))
                 .orElseThrow(() -> new AppException(HttpStatus.NOT_FOUND, "Không tìm thấy tệp tin", "File not found"));
 
-        String publicIdWithFolder = fileMetadata.getFileType() + "/" + fileMetadata.getStoredFileName();
+        if (fileMetadataRepository.decrementSharedReferenceCount(fileMetadata.getUuid()) > 0) {
+            return;
+        }
 
         try {
-            Map<String, Object> result = cloudinary.uploader().destroy(publicIdWithFolder, ObjectUtils.asMap(
-                    "resource_type", "image"
-            ));
-
-            String destroyResult = (String) result.get("result");
-
-            if (!"ok".equals(destroyResult) && !"not found".equals(destroyResult)) {
-                throw new AppException(HttpStatus.INTERNAL_SERVER_ERROR, "Xóa thất bại", "Cloudinary trả về: " + destroyResult);
-            }
+            storageBackend.delete(fileMetadata);
 
             fileMetadataRepository.delete(fileMetadata);
+            fileMetadataCache.evict(fileMetadata.getUuid());
         } catch (IOException e) {
             throw new AppException(HttpStatus.INTERNAL_SERVER_ERROR, "Không thể xóa file", e.getMessage());
         }
     }
-}
 
+    private record SpooledFile(Path path, String originalFileName, String extension, long size, String contentType,
+                               String checksum) {
+    }
+}
@@ -0,0 +1,57 @@
+package com.pharmacy.backend.service.impl;
+
+import com.pharmacy.backend.cache.CatalogVersionCache;
+import com.pharmacy.backend.entity.Product;
+import com.pharmacy.backend.enums.CatalogAreaEnum;
+import com.pharmacy.backend.repository.ProductRepository;
+import com.pharmacy.backend.service.InventoryService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Hibernate;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+@Service
+@RequiredArgsConstructor
+public class InventoryServiceImpl implements InventoryService {
+    private final ProductRepository productRepository;
+    private final CatalogVersionCache catalogVersionCache;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Transactional
+    @Override
+    public List<Long> reserve(Map<Long, Long> quantitiesByProductId) {
+        List<Long> failedProductIds = new ArrayList<>();
+        boolean soldOut = false;
+        for (Map.Entry<Long, Long> entry : new TreeMap<>(quantitiesByProductId).entrySet()) {
+            Long productId = entry.getKey();
+            if (productRepository.decrementQuantity(productId, entry.getValue()) == 0) {
+                failedProductIds.add(productId);
+                continue;
+            }
+            Product product = entityManager.getReference(Product.class, productId);
+            Long remaining;
+            if (Hibernate.isInitialized(product)) {
+                entityManager.refresh(product);
+                remaining = product.getQuantity();
+            } else {
+                remaining = productRepository.findQuantityById(productId);
+            }
+            if (remaining == 0) {
+                soldOut = true;
+            }
+        }
+        if (soldOut) {
+            catalogVersionCache.bump(CatalogAreaEnum.PRODUCT);
+        }
+        return failedProductIds;
+    }
+}
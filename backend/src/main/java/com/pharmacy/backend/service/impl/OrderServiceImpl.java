@@ -1,5 +1,8 @@
 package com.pharmacy.backend.service.impl;
 
+import com.pharmacy.backend.datasource.ReadOnlyTransactional;
+import com.pharmacy.backend.cache.CartTotalCache;
+import com.pharmacy.backend.cache.FileMetadataCache;
 import com.pharmacy.backend.dto.request.OrderFilterRequest;
 import com.pharmacy.backend.dto.request.OrderRequest;
 import com.pharmacy.backend.dto.response.*;
@@ -13,8 +16,11 @@ import com.pharmacy.backend.mapper.ProductMapper;
 import com.pharmacy.backend.repository.*;
 import com.pharmacy.backend.security.SecurityUtils;
 import com.pharmacy.backend.service.EmailService;
+import com.pharmacy.backend.service.InventoryService;
 import com.pharmacy.backend.service.OrderService;
+import com.pharmacy.backend.service.StatisticService;
 import com.pharmacy.backend.specification.OrderSpecification;
+import com.pharmacy.backend.utils.CursorUtils;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.transaction.Transactional;
 import lombok.AccessLevel;
@@ -23,14 +29,18 @@ import lombok.experimental.FieldDefaults;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -45,10 +55,13 @@ public class OrderServiceImpl implements OrderService {
     final ProfileRepository profileRepository;
     final ProductMapper productMapper;
     final EmailService emailService;
+    final InventoryService inventoryService;
+    final StatisticService statisticService;
     final VnPayService vnPayService;
-    final FileMetadataRepository fileMetadataRepository;
+    final FileMetadataCache fileMetadataCache;
+    final CartTotalCache cartTotalCache;
 
-    @Transactional
+    @ReadOnlyTransactional
     @Override
     public ApiResponse<PageResponse<List<OrderResponse>>> getAllOrders(int pageIndex, int pageSize, OrderFilterRequest filterRequest) {
         if(pageIndex <= 0) {
@@ -73,8 +86,8 @@ public class OrderServiceImpl implements OrderService {
             );
         }
 
-        Pageable pageable = PageRequest.of(pageIndex - 1, pageSize);
-        Page<Order> orderPage = orderRepository.findAll(orderSpecification ,pageable);
+        PageResponse<List<Order>> orderPage = findOrderPage(orderSpecification, pageIndex, pageSize,
+                filterRequest.getCursor(), filterRequest.getIncludeTotal());
 
         List<OrderResponse> orderResponses = orderPage.getContent().stream()
                 .map(order -> {
@@ -84,14 +97,7 @@ public class OrderServiceImpl implements OrderService {
                 })
                 .toList();
 
-        PageResponse<List<OrderResponse>> pageResponse = PageResponse.<List<OrderResponse>>builder()
-                .currentPage(pageIndex)
-                .totalElements(orderPage.getTotalElements())
-                .totalPages(orderPage.getTotalPages())
-                .hasNext(orderPage.hasNext())
-                .hasPrevious(orderPage.hasPrevious())
-                .content(orderResponses)
-                .build();
+        PageResponse<List<OrderResponse>> pageResponse = orderPage.withContent(orderResponses);
 
         return ApiResponse.buildResponse(
                 HttpStatus.OK.value(),
@@ -161,7 +167,7 @@ public class OrderServiceImpl implements OrderService {
                 .map(orderDetail -> {
                     OrderDetailResponse response = orderMapper.toOrderDetailResponse(orderDetail);
                     ProductResponse productResponse = productMapper.toProductResponse(orderDetail.getProduct());
-                    FileMetadata fileMetadata = fileMetadataRepository.findByUuid(
+                    FileMetadata fileMetadata = fileMetadataCache.findByUuid(
                             UUID.fromString(orderDetail.getProduct().getThumbnail()))
                             .orElseThrow(() -> new AppException(HttpStatus.NOT_FOUND, "Không tìm thấy hình ảnh sản phẩm với ID: " + orderDetail.getProduct().getThumbnail(), "File not found"));
                     productResponse.setThumbnailUrl(fileMetadata.getUrl());
@@ -192,12 +198,13 @@ public class OrderServiceImpl implements OrderService {
         order.setCustomerPhoneNumber(profile.getPhoneNumber());
         order.setCustomerAddress(profile.getAddress());
         order.setCart(cart);
-        order.setTotalPrice(cart.getTotalPrice());
+        order.setTotalPrice(cartTotalCache.calculateSelectedTotal(user.getId()));
 
         switch (PaymentMethodEnum.valueOf(request.getPaymentMethod().toUpperCase())) {
             case VNPAY -> {
                 order = orderRepository.save(order);
                 createOrderDetails(order, cart);
+                statisticService.recordOrderCreated(order);
                 HttpServletRequest servletRequest = SecurityUtils.getCurrentHttpServletRequest();
                 String paymentUrl = vnPayService.createPaymentUrl(order, servletRequest);
                 return ApiResponse.buildResponse(
@@ -217,15 +224,12 @@ public class OrderServiceImpl implements OrderService {
             case OFFLINE -> {
                 order = orderRepository.save(order);
                 createOrderDetails(order, cart);
+                statisticService.recordOrderCreated(order);
             }
             default -> throw new AppException(HttpStatus.BAD_REQUEST, "Phương thức thanh toán không hợp lệ", "Invalid payment method");
         }
 
-        try {
-            emailService.sendOrderConfirmationEmail(order, user.getEmail());
-        } catch (Exception e) {
-            throw new AppException(HttpStatus.INTERNAL_SERVER_ERROR, "Gửi email xác nhận đơn hàng thất bại", "Email sending failed");
-        }
+        emailService.sendOrderConfirmationEmail(order, user.getEmail());
 
         OrderResponse orderResponse = orderMapper.toOrderResponse(order);
         orderResponse.setPaymentStatus(order.getPaymentStatus().name());
@@ -239,11 +243,13 @@ public class OrderServiceImpl implements OrderService {
     @Transactional
     @Override
     public ApiResponse<OrderResponse> changeOrderStatus(Long id, String status) {
-        Order order = orderRepository.findById(id)
+        Order order = orderRepository.findByIdForUpdate(id)
                 .orElseThrow(() -> new AppException(HttpStatus.NOT_FOUND, "Không tìm thấy đơn hàng với ID: " + id, "Order not found"));
 
+        OrderStatusEnum previousStatus = order.getStatus();
         order.setStatus(OrderStatusEnum.valueOf(status.toUpperCase()));
         orderRepository.save(order);
+        statisticService.recordOrderChanged(order, previousStatus, order.getPaymentStatus());
 
         OrderResponse orderResponse = orderMapper.toOrderResponse(order);
         return ApiResponse.buildResponse(
@@ -253,14 +259,17 @@ public class OrderServiceImpl implements OrderService {
         );
     }
 
+    @Transactional
     @Override
     public ApiResponse<OrderResponse> changePaymentStatus(Long id, String paymentStatus) {
-        Order order = orderRepository.findById(id)
+        Order order = orderRepository.findByIdForUpdate(id)
                 .orElseThrow(() -> new AppException(HttpStatus.NOT_FOUND, "Không tìm thấy đơn hàng với ID: " + id, "Order not found"));
 
         // Assuming paymentStatus is a valid enum or string that can be set directly
+        PaymentStatusEnum previousPaymentStatus = order.getPaymentStatus();
         order.setPaymentStatus(PaymentStatusEnum.valueOf(paymentStatus.toUpperCase()));
         orderRepository.save(order);
+        statisticService.recordOrderChanged(order, order.getStatus(), previousPaymentStatus);
 
         OrderResponse orderResponse = orderMapper.toOrderResponse(order);
         return ApiResponse.buildResponse(
@@ -270,9 +279,10 @@ public class OrderServiceImpl implements OrderService {
         );
     }
 
+    @ReadOnlyTransactional
     @Override
     public ApiResponse<Long> getTotalOrder() {
-        Long totalOrders = orderRepository.count();
+        Long totalOrders = statisticService.getTotalOrders();
         return ApiResponse.buildResponse(
                 HttpStatus.OK.value(),
                 "Lấy tổng số đơn hàng thành công",
@@ -280,9 +290,10 @@ public class OrderServiceImpl implements OrderService {
         );
     }
 
+    @ReadOnlyTransactional
     @Override
     public ApiResponse<Long> getAllRevenue() {
-        Long totalRevenue = orderRepository.getTotalRevenue("DELIVERED");
+        Long totalRevenue = statisticService.getTotalRevenue();
         return ApiResponse.buildResponse(
                 HttpStatus.OK.value(),
                 "Lấy tổng doanh thu thành công",
@@ -290,6 +301,7 @@ public class OrderServiceImpl implements OrderService {
         );
     }
 
+    @ReadOnlyTransactional
     @Override
     public ApiResponse<List<OrderResponse>> getFiveNewestOrder() {
         List<Order> newestOrders = orderRepository.findTop5ByOrderByCreatedAtDesc();
@@ -309,9 +321,10 @@ public class OrderServiceImpl implements OrderService {
         );
     }
 
+    @Transactional
     @Override
     public ApiResponse<Void> cancelOrder(Long id) {
-        Order order = orderRepository.findById(id)
+        Order order = orderRepository.findByIdForUpdate(id)
                 .orElseThrow(() -> new AppException(HttpStatus.NOT_FOUND, "Không tìm thấy đơn hàng với ID: " + id, "Order not found"));
 
         if (!order.getStatus().equals(OrderStatusEnum.PENDING)) {
@@ -320,6 +333,7 @@ public class OrderServiceImpl implements OrderService {
 
         order.setStatus(OrderStatusEnum.CANCELLED);
         orderRepository.save(order);
+        statisticService.recordOrderChanged(order, OrderStatusEnum.PENDING, order.getPaymentStatus());
 
         return ApiResponse.buildResponse(
                 HttpStatus.OK.value(),
@@ -335,27 +349,70 @@ public class OrderServiceImpl implements OrderService {
             throw new AppException(HttpStatus.BAD_REQUEST, "Giỏ hàng không có sản phẩm nào được chọn", "Cart is empty");
         }
 
+        Map<Long, Long> quantitiesByProductId = cartItems.stream()
+                .collect(Collectors.toMap(cartItem -> cartItem.getProduct().getId(), CartItem::getQuantity, Long::sum));
+        List<Long> failedProductIds = inventoryService.reserve(quantitiesByProductId);
+        if (!failedProductIds.isEmpty()) {
+            String titles = cartItems.stream()
+                    .map(CartItem::getProduct)
+                    .filter(product -> failedProductIds.contains(product.getId()))
+                    .map(Product::getTitle)
+                    .distinct()
+                    .collect(Collectors.joining(", "));
+            throw new AppException(HttpStatus.BAD_REQUEST, "Sản phẩm " + titles + " không đủ số lượng", "Insufficient product quantity");
+        }
+
         for (CartItem cartItem : cartItems) {
-            if(cartItem.isProductAvailable()) {
-                OrderDetail orderDetail = OrderDetail.builder()
-                        .order(order)
-                        .product(cartItem.getProduct())
-                        .quantity(cartItem.getQuantity())
-                        .priceAtOrder(cartItem.getProduct().getPriceNew())
-                        .build();
-
-                order.getOrderDetails().add(orderDetail);
-                Product product = cartItem.getProduct();
-                product.setQuantity(product.getQuantity() - cartItem.getQuantity());
-            } else {
-                throw new AppException(HttpStatus.BAD_REQUEST, "Sản phẩm " + cartItem.getProduct().getTitle()
-                        + " không đủ số lượng", "Insufficient product quantity");
-            }
+            OrderDetail orderDetail = OrderDetail.builder()
+                    .order(order)
+                    .product(cartItem.getProduct())
+                    .quantity(cartItem.getQuantity())
+                    .priceAtOrder(cartItem.getProduct().getPriceNew())
+                    .build();
+
+            order.getOrderDetails().add(orderDetail);
         }
-        cartItemRepository.deleteAll(cartItems);
-        cart.setTotalPrice(cart.getTotalPrice() - cartItems.stream()
-                .mapToLong(cartItem -> cartItem.getQuantity() * cartItem.getProduct().getPriceNew())
-                .sum());
+        cartItemRepository.deleteSelectedByCart(cart);
+        cartTotalCache.invalidate(cart.getUser().getId());
     }
 
+    private PageResponse<List<Order>> findOrderPage(Specification<Order> specification, int pageIndex, int pageSize,
+                                                    String cursor, Boolean includeTotal) {
+        if (cursor != null) {
+            Sort keysetSort = Sort.by(Sort.Direction.DESC, "createdAt", "id");
+            Window<Order> window = orderRepository.findBy(specification, query -> query
+                    .sortBy(keysetSort)
+                    .limit(pageSize)
+                    .scroll(CursorUtils.decode(cursor, keysetSort)));
+
+            return PageResponse.<List<Order>>builder()
+                    .content(window.getContent())
+                    .hasNext(window.hasNext())
+                    .hasPrevious(!cursor.isBlank())
+                    .nextCursor(window.hasNext() ? CursorUtils.encode(window.positionAt(window.size() - 1), keysetSort) : null)
+                    .totalElements(Boolean.TRUE.equals(includeTotal) ? orderRepository.count(specification) : null)
+                    .build();
+        }
+
+        Pageable pageable = PageRequest.of(pageIndex - 1, pageSize);
+        if (Boolean.FALSE.equals(includeTotal)) {
+            Slice<Order> orderSlice = orderRepository.findBy(specification, query -> query.slice(pageable));
+            return PageResponse.<List<Order>>builder()
+                    .content(orderSlice.getContent())
+                    .currentPage(pageIndex)
+                    .hasNext(orderSlice.hasNext())
+                    .hasPrevious(orderSlice.hasPrevious())
+                    .build();
+        }
+
+        Page<Order> orderPage = orderRepository.findAll(specification, pageable);
+        return PageResponse.<List<Order>>builder()
+                .content(orderPage.getContent())
+                .currentPage(pageIndex)
+                .totalElements(orderPage.getTotalElements())
+                .totalPages(orderPage.getTotalPages())
+                .hasNext(orderPage.hasNext())
+                .hasPrevious(orderPage.hasPrevious())
+                .build();
+    }
 }
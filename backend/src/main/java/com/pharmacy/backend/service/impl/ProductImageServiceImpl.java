@@ -1,13 +1,11 @@
 package com.pharmacy.backend.service.impl;
 
 import com.pharmacy.backend.dto.response.ProductImageResponse;
-import com.pharmacy.backend.entity.FileMetadata;
 import com.pharmacy.backend.entity.Product;
 import com.pharmacy.backend.entity.ProductImage;
 import com.pharmacy.backend.enums.FileCategoryEnum;
 import com.pharmacy.backend.exception.AppException;
 import com.pharmacy.backend.mapper.ProductImageMapper;
-import com.pharmacy.backend.repository.FileMetadataRepository;
 import com.pharmacy.backend.repository.ProductImageRepository;
 import com.pharmacy.backend.service.FileMetadataService;
 import com.pharmacy.backend.service.ProductImageService;
@@ -18,7 +16,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
-import java.util.UUID;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
@@ -26,18 +24,22 @@ public class ProductImageServiceImpl implements ProductImageService {
     private final ProductImageRepository productImageRepository;
     private final FileMetadataService fileMetadataService;
     private final ProductImageMapper productImageMapper;
-    private final FileMetadataRepository fileMetadataRepository;
 
     @Transactional
     @Override
     public List<ProductImageResponse> getProductImagesByProduct(Product product) {
-        return productImageRepository.findByProduct(product)
-                .stream()
+        List<ProductImage> productImages = productImageRepository.findByProduct(product);
+        Map<String, String> imageUrls = fileMetadataService.getFileUrls(productImages.stream()
+                .map(ProductImage::getImageUuid)
+                .toList());
+
+        return productImages.stream()
                 .map(productImage -> {
+                    if (productImage.getImageUuid() == null || !imageUrls.containsKey(productImage.getImageUuid())) {
+                        throw new AppException(HttpStatus.NOT_FOUND, "Không tìm thấy hình ảnh sản phẩm", "Product image not found");
+                    }
                     ProductImageResponse response = productImageMapper.toProductImageResponse(productImage);
-                    FileMetadata fileMetadata = fileMetadataRepository.findByUuid(UUID.fromString(productImage.getImageUuid()))
-                            .orElseThrow(() -> new AppException(HttpStatus.NOT_FOUND, "Không tìm thấy hình ảnh sản phẩm", "Product image not found"));
-                    response.setImageUrl(fileMetadata.getUrl());
+                    response.setImageUrl(imageUrls.get(productImage.getImageUuid()));
 
                     return response;
                 })
@@ -50,17 +52,18 @@ public class ProductImageServiceImpl implements ProductImageService {
         if(images == null || images.isEmpty()) {
             return List.of();
         }
-        return images.stream()
-                .map(image -> {
-                    var fileMetadata = fileMetadataService.storeFile(image, FileCategoryEnum.PRODUCT.name());
+        List<ProductImage> productImages = fileMetadataService.storeFiles(images, FileCategoryEnum.PRODUCT.name()).stream()
+                .map(fileMetadata -> {
                     ProductImage productImage = new ProductImage();
                     productImage.setProduct(product);
-                    productImage.setImageUuid(fileMetadata.getData().getId().toString());
-
-                    productImageRepository.save(productImage);
-                    return productImageMapper.toProductImageResponse(productImage);
+                    productImage.setImageUuid(fileMetadata.getUuid().toString());
+                    return productImage;
                 })
                 .toList();
+
+        return productImageRepository.saveAll(productImages).stream()
+                .map(productImageMapper::toProductImageResponse)
+                .toList();
     }
 
     @Transactional
@@ -1,5 +1,9 @@
 package com.pharmacy.backend.service.impl;
 
+import com.pharmacy.backend.datasource.ReadOnlyTransactional;
+import com.pharmacy.backend.cache.CartTotalCache;
+import com.pharmacy.backend.cache.CatalogVersionCache;
+import com.pharmacy.backend.cache.FileMetadataCache;
 import com.pharmacy.backend.dto.request.ProductCMSFilterRequest;
 import com.pharmacy.backend.dto.request.ProductFilterCustomerRequest;
 import com.pharmacy.backend.dto.request.ProductRequest;
@@ -7,31 +11,43 @@ import com.pharmacy.backend.dto.response.ApiResponse;
 import com.pharmacy.backend.dto.response.PageResponse;
 import com.pharmacy.backend.dto.response.ProductImageResponse;
 import com.pharmacy.backend.dto.response.ProductResponse;
+import com.pharmacy.backend.dto.response.ProductSummaryResponse;
 import com.pharmacy.backend.entity.*;
+import com.pharmacy.backend.enums.CatalogAreaEnum;
+import com.pharmacy.backend.enums.StatisticCounterEnum;
 import com.pharmacy.backend.exception.AppException;
 import com.pharmacy.backend.mapper.BrandMapper;
 import com.pharmacy.backend.mapper.CategoryMapper;
 import com.pharmacy.backend.mapper.ProductMapper;
 import com.pharmacy.backend.repository.*;
+import com.pharmacy.backend.search.ProductSearchFilter;
+import com.pharmacy.backend.search.ProductSearchIndex;
 import com.pharmacy.backend.security.SecurityUtils;
 import com.pharmacy.backend.service.FileMetadataService;
 import com.pharmacy.backend.service.ProductImageService;
 import com.pharmacy.backend.service.ProductService;
+import com.pharmacy.backend.service.StatisticService;
+import com.pharmacy.backend.slug.RetryOnSlugConflict;
+import com.pharmacy.backend.slug.SlugAllocator;
 import com.pharmacy.backend.specification.ProductSpecification;
-import com.pharmacy.backend.utils.SlugUtils;
+import com.pharmacy.backend.utils.CursorUtils;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -48,17 +64,25 @@ public class ProductServiceImpl implements ProductService {
     private final WishlistRepository wishlistRepository;
     private final UserRepository userRepository;
     private final CategoryMapper categoryMapper;
-    private final FileMetadataRepository fileMetadataRepository;
-
-    @Transactional
+    private final FileMetadataCache fileMetadataCache;
+    private final ProductSearchIndex productSearchIndex;
+    private final StatisticService statisticService;
+    private final SlugAllocator slugAllocator;
+    private final CartTotalCache cartTotalCache;
+    private final CatalogVersionCache catalogVersionCache;
+
+    @ReadOnlyTransactional
     @Override
     public ApiResponse<PageResponse<List<ProductResponse>>> getAllCMSProduct(int pageIndex, int pageSize, ProductCMSFilterRequest filterRequest) {
         Specification<Product> productSpecification = ProductSpecification.hasActive(filterRequest.getIsActive())
-                .and(ProductSpecification.hasTitle(filterRequest.getTitle()));
-
-        Pageable pageable = createPageable(pageIndex, pageSize, filterRequest.getIsAscending());
-
-        Page<Product> productPage = productRepository.findAll(productSpecification, pageable);
+                .and(ProductSpecification.hasIdInRankOrder(searchProductIds(filterRequest.getTitle(),
+                        ProductSearchFilter.active(filterRequest.getIsActive()))));
+
+        PageResponse<List<Product>> productPage = findProductPage(productSpecification, pageIndex, pageSize,
+                filterRequest.getIsAscending(), filterRequest.getTitle(), filterRequest.getCursor(), filterRequest.getIncludeTotal());
+        loadCategories(productPage.getContent());
+        Map<String, String> thumbnailUrls = resolveThumbnailUrls(productPage.getContent());
+        Map<String, Map<String, String>> thumbnailVariants = resolveThumbnailVariants(productPage.getContent());
         List<ProductResponse> productResponses = productPage.getContent()
                 .stream()
                 .map(product -> {
@@ -69,24 +93,14 @@ public class ProductServiceImpl implements ProductService {
                                     .map(categoryMapper::toCategoryResponse)
                                     .collect(Collectors.toList())
                     );
-                    FileMetadata fileMetadata = fileMetadataRepository.findByUuid(UUID.fromString(product.getThumbnail()))
-                            .orElseThrow(() -> new AppException(HttpStatus.NOT_FOUND, "Không tìm thấy hình ảnh đại diện cho sản phẩm", "THUMBNAIL_NOT_FOUND"));
-                    response.setThumbnailUrl(
-                            fileMetadata.getUrl()
-                    );
+                    response.setThumbnailUrl(getThumbnailUrl(thumbnailUrls, product));
+                    response.setThumbnailVariants(thumbnailVariants.getOrDefault(product.getThumbnail(), Map.of()));
 
                     return response;
                 })
                 .toList();
 
-        PageResponse<List<ProductResponse>> pageResponse = PageResponse.<List<ProductResponse>>builder()
-                .content(productResponses)
-                .currentPage(pageIndex)
-                .totalPages(productPage.getTotalPages())
-                .totalElements(productPage.getTotalElements())
-                .hasNext(productPage.hasNext())
-                .hasPrevious(productPage.hasPrevious())
-                .build();
+        PageResponse<List<ProductResponse>> pageResponse = productPage.withContent(productResponses);
 
         return ApiResponse.buildResponse(
                 HttpStatus.OK.value(),
@@ -95,19 +109,18 @@ public class ProductServiceImpl implements ProductService {
         );
     }
 
-    @Transactional
+    @ReadOnlyTransactional
     @Override
-    public ApiResponse<PageResponse<List<ProductResponse>>> getAllActiveProduct(int pageIndex, int pageSize, ProductFilterCustomerRequest filterRequest) {
+    public ApiResponse<PageResponse<List<ProductSummaryResponse>>> getAllActiveProduct(int pageIndex, int pageSize, ProductFilterCustomerRequest filterRequest) {
         Specification<Product> productSpecification = ProductSpecification.hasActive(true)
-                .and(ProductSpecification.hasTitle(filterRequest.getTitle()))
+                .and(ProductSpecification.hasIdInRankOrder(searchProductIds(filterRequest.getTitle(), filterRequest)))
                 .and(ProductSpecification.hasCategorySlug(filterRequest.getCategory()))
                 .and(ProductSpecification.hasBrandSlug(filterRequest.getBrand()))
                 .and(ProductSpecification.hasPriceRange(filterRequest.getPriceFrom(), filterRequest.getPriceTo()));
 
 
-        Pageable pageable = createPageable(pageIndex, pageSize, filterRequest.getIsAscending());
-
-        Page<Product> productPage = productRepository.findAll(productSpecification, pageable);
+        PageResponse<List<Product>> productPage = findProductPage(productSpecification, pageIndex, pageSize,
+                filterRequest.getIsAscending(), filterRequest.getTitle(), filterRequest.getCursor(), filterRequest.getIncludeTotal());
 
         User user;
         Long userId = SecurityUtils.getCurrentUserId();
@@ -118,36 +131,24 @@ public class ProductServiceImpl implements ProductService {
             user = null;
         }
 
-        List<ProductResponse> productResponses = productPage.getContent()
+        Set<Long> wishlistProductIds = resolveWishlistProductIds(user, productPage.getContent());
+        Map<String, String> thumbnailUrls = resolveThumbnailUrls(productPage.getContent());
+        Map<String, Map<String, String>> thumbnailVariants = resolveThumbnailVariants(productPage.getContent());
+        List<ProductSummaryResponse> productResponses = productPage.getContent()
                 .stream()
                 .map(product -> {
-                    ProductResponse response = productMapper.toProductResponse(product);
-                    if(user != null) {
-                        Boolean isInWishList = wishlistRepository.existsByProductAndUser(product, user);
-                        response.setInWishlist(isInWishList);
-                    } else {
-                        response.setInWishlist(false);
-                    }
+                    ProductSummaryResponse response = productMapper.toProductSummaryResponse(product);
+                    response.setInWishlist(wishlistProductIds.contains(product.getId()));
 
                     response.setBrand(brandMapper.toBrandResponse(product.getBrand()));
-                    FileMetadata fileMetadata = fileMetadataRepository.findByUuid(UUID.fromString(product.getThumbnail()))
-                            .orElseThrow(() -> new AppException(HttpStatus.NOT_FOUND, "Không tìm thấy hình ảnh đại diện cho sản phẩm", "THUMBNAIL_NOT_FOUND"));
-                    response.setThumbnailUrl(
-                            fileMetadata.getUrl()
-                    );
+                    response.setThumbnailUrl(getThumbnailUrl(thumbnailUrls, product));
+                    response.setThumbnailVariants(thumbnailVariants.getOrDefault(product.getThumbnail(), Map.of()));
 
                     return response;
                 })
                 .toList();
 
-        PageResponse<List<ProductResponse>> pageResponse = PageResponse.<List<ProductResponse>>builder()
-                .content(productResponses)
-                .currentPage(pageIndex)
-                .totalPages(productPage.getTotalPages())
-                .totalElements(productPage.getTotalElements())
-                .hasNext(productPage.hasNext())
-                .hasPrevious(productPage.hasPrevious())
-                .build();
+        PageResponse<List<ProductSummaryResponse>> pageResponse = productPage.withContent(productResponses);
 
         return ApiResponse.buildResponse(
                 HttpStatus.OK.value(),
@@ -156,15 +157,16 @@ public class ProductServiceImpl implements ProductService {
         );
     }
 
-    @Transactional
+    @ReadOnlyTransactional
     @Override
     public ApiResponse<ProductResponse> getProductById(Long id) {
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new AppException(HttpStatus.NOT_FOUND, "Không tìm thấy sản phẩm với ID: " + id, "PRODUCT_NOT_FOUND"));
         ProductResponse productResponse = productMapper.toProductResponse(product);
-        FileMetadata fileMetadata = fileMetadataRepository.findByUuid(UUID.fromString(product.getThumbnail()))
+        FileMetadata fileMetadata = fileMetadataCache.findByUuid(UUID.fromString(product.getThumbnail()))
                 .orElseThrow(() -> new AppException(HttpStatus.NOT_FOUND, "Không tìm thấy hình ảnh đại diện cho sản phẩm", "THUMBNAIL_NOT_FOUND"));
         productResponse.setThumbnailUrl(fileMetadata.getUrl());
+        productResponse.setThumbnailVariants(fileMetadataService.getVariantUrls(fileMetadata));
         productResponse.setImages(productImageService.getProductImagesByProduct(product));
         productResponse.setBrand(brandMapper.toBrandResponse(product.getBrand()));
         List<Category> categories = categoryRepository.findAllByProductsContains(product);
@@ -176,10 +178,10 @@ public class ProductServiceImpl implements ProductService {
         );
     }
 
-    @Transactional
+    @ReadOnlyTransactional
     @Override
     public ApiResponse<ProductResponse> getProductBySlug(String slug) {
-        Product product = productRepository.findBySlug(slug)
+        Product product = productRepository.findDetailBySlug(slug)
                 .orElseThrow(() -> new AppException(HttpStatus.NOT_FOUND, "Không tìm thấy sản phẩm với slug: " + slug, "PRODUCT_NOT_FOUND"));
         if (!product.getActive()) {
             throw new AppException(HttpStatus.NOT_FOUND, "Sản phẩm không còn hoạt động", "PRODUCT_INACTIVE");
@@ -194,12 +196,15 @@ public class ProductServiceImpl implements ProductService {
         } else {
             productResponse.setInWishlist(false);
         }
-        
-        Brand brand = brandRepository.findById(product.getBrand().getId())
-                .orElseThrow(() -> new AppException(HttpStatus.NOT_FOUND, "Không tìm thấy thương hiệu với ID: "
-                        + product.getBrand().getId(), "BRAND_NOT_FOUND"));
 
-        productResponse.setBrand(brandMapper.toBrandResponse(brand));
+        FileMetadata fileMetadata = fileMetadataCache.findByUuid(UUID.fromString(product.getThumbnail()))
+                .orElseThrow(() -> new AppException(HttpStatus.NOT_FOUND, "Không tìm thấy hình ảnh đại diện cho sản phẩm", "THUMBNAIL_NOT_FOUND"));
+        productResponse.setThumbnailUrl(fileMetadata.getUrl());
+        productResponse.setThumbnailVariants(fileMetadataService.getVariantUrls(fileMetadata));
+        productResponse.setBrand(brandMapper.toBrandResponse(product.getBrand()));
+        productResponse.setCategories(product.getCategories().stream()
+                .map(categoryMapper::toCategoryResponse)
+                .collect(Collectors.toList()));
         productResponse.setImages(productImageService.getProductImagesByProduct(product));
         return ApiResponse.buildResponse(
                 HttpStatus.OK.value(),
@@ -208,6 +213,7 @@ public class ProductServiceImpl implements ProductService {
         );
     }
 
+    @RetryOnSlugConflict
     @Transactional
     @Override
     public ApiResponse<ProductResponse> createProduct(ProductRequest request, MultipartFile thumbnail, List<MultipartFile> images) {
@@ -229,12 +235,15 @@ public class ProductServiceImpl implements ProductService {
         }
 
         Product product = productMapper.toProduct(request);
-        product.setSlug(createSlug(product.getTitle()));
-        product.setThumbnail(fileMetadataService.storeFile(thumbnail, "PRODUCT").getData().getId().toString());
+        product.setSlug(createSlug(product.getTitle(), null));
         product.setBrand(brand);
         product.setCategories(categories);
+        product = productRepository.saveAndFlush(product);
 
-        product = productRepository.save(product);
+        product.setThumbnail(fileMetadataService.storeFile(thumbnail, "PRODUCT").getData().getId().toString());
+        statisticService.recordCounter(StatisticCounterEnum.PRODUCT, 1);
+        productSearchIndex.index(product);
+        catalogVersionCache.bump(CatalogAreaEnum.PRODUCT);
         images.addFirst(thumbnail);
         List<ProductImageResponse> productImages = productImageService.createProductImages(product, images);
 
@@ -261,11 +270,17 @@ public class ProductServiceImpl implements ProductService {
         Brand brand = brandRepository.findById(request.getBrandId())
                 .orElseThrow(() -> new AppException(HttpStatus.NOT_FOUND,
                         "Không tìm thấy thương hiệu với ID: " + request.getBrandId(), "BRAND_NOT_FOUND"));
+        Long previousPrice = product.getPriceNew();
         Product updatedProduct = productMapper.toProductUpdateFromRequest(request, product);;
         List<Category> categories = categoryRepository.findAllById(request.getCategoryIds());
         updatedProduct.setBrand(brand);
         updatedProduct.setCategories(categories);
         product = productRepository.save(updatedProduct);
+        productSearchIndex.index(product);
+        catalogVersionCache.bump(CatalogAreaEnum.PRODUCT);
+        if (!Objects.equals(previousPrice, product.getPriceNew())) {
+            cartTotalCache.invalidateAll();
+        }
 
         List<ProductImageResponse> productImages = productImageService.updateProductImages(product, images);
 
@@ -287,6 +302,8 @@ public class ProductServiceImpl implements ProductService {
 
         product.setActive(active);
         product = productRepository.save(product);
+        productSearchIndex.index(product);
+        catalogVersionCache.bump(CatalogAreaEnum.PRODUCT);
 
         ProductResponse productResponse = productMapper.toProductResponse(product);
         productResponse.setImages(productImageService.getProductImagesByProduct(product));
@@ -298,6 +315,7 @@ public class ProductServiceImpl implements ProductService {
         );
     }
 
+    @Transactional
     @Override
     public ApiResponse<Void> deleteProduct(Long id) {
         Product product = productRepository.findById(id)
@@ -305,6 +323,10 @@ public class ProductServiceImpl implements ProductService {
 
         productImageService.deleteProductImagesByProduct(product);
         productRepository.delete(product);
+        statisticService.recordCounter(StatisticCounterEnum.PRODUCT, -1);
+        productSearchIndex.delete(product.getId());
+        catalogVersionCache.bump(CatalogAreaEnum.PRODUCT);
+        cartTotalCache.invalidateAll();
 
         return ApiResponse.buildResponse(
                 HttpStatus.OK.value(),
@@ -313,9 +335,11 @@ public class ProductServiceImpl implements ProductService {
         );
     }
 
+    @ReadOnlyTransactional
     @Override
     public ApiResponse<Long> getTotalProduct() {
-        long totalProducts = productRepository.count();
+        long totalProducts = statisticService.getCounter(StatisticCounterEnum.PRODUCT)
+                .orElseGet(productRepository::count);
         return ApiResponse.buildResponse(
                 HttpStatus.OK.value(),
                 "Lấy tổng số sản phẩm thành công",
@@ -323,9 +347,9 @@ public class ProductServiceImpl implements ProductService {
         );
     }
 
-    @Transactional
+    @ReadOnlyTransactional
     @Override
-    public ApiResponse<List<ProductResponse>> getTop15ProductsByNumberOfLikes() {
+    public ApiResponse<List<ProductSummaryResponse>> getTop15ProductsByNumberOfLikes() {
         Pageable pageable = PageRequest.of(0, 15, Sort.by(Sort.Direction.DESC, "numberOfLikes"));
         List<Product> products = productRepository.findTop15ByActiveTrue((pageable));
         User user;
@@ -337,20 +361,17 @@ public class ProductServiceImpl implements ProductService {
             user = null;
         }
 
-        List<ProductResponse> productResponses = products
+        Set<Long> wishlistProductIds = resolveWishlistProductIds(user, products);
+        Map<String, String> thumbnailUrls = resolveThumbnailUrls(products);
+        Map<String, Map<String, String>> thumbnailVariants = resolveThumbnailVariants(products);
+        List<ProductSummaryResponse> productResponses = products
                 .stream()
                 .map(product -> {
-                    ProductResponse response = productMapper.toProductResponse(product);
-                    if(user != null) {
-                        Boolean isInWishList = wishlistRepository.existsByProductAndUser(product, user);
-                        response.setInWishlist(isInWishList);
-                    } else {
-                        response.setInWishlist(false);
-                    }
-
-                    FileMetadata fileMetadata = fileMetadataRepository.findByUuid(UUID.fromString(product.getThumbnail()))
-                            .orElseThrow(() -> new AppException(HttpStatus.NOT_FOUND, "Không tìm thấy hình ảnh đại diện cho sản phẩm", "THUMBNAIL_NOT_FOUND"));
-                    response.setThumbnailUrl(fileMetadata.getUrl());
+                    ProductSummaryResponse response = productMapper.toProductSummaryResponse(product);
+                    response.setInWishlist(wishlistProductIds.contains(product.getId()));
+
+                    response.setThumbnailUrl(getThumbnailUrl(thumbnailUrls, product));
+                    response.setThumbnailVariants(thumbnailVariants.getOrDefault(product.getThumbnail(), Map.of()));
                     return response;
                 })
                 .toList();
@@ -362,9 +383,9 @@ public class ProductServiceImpl implements ProductService {
         );
     }
 
-    @Transactional
+    @ReadOnlyTransactional
     @Override
-    public ApiResponse<List<ProductResponse>> get15ProductByBrand(Long brandId) {
+    public ApiResponse<List<ProductSummaryResponse>> get15ProductByBrand(Long brandId) {
         Brand brand = brandRepository.findById(brandId)
                 .orElseThrow(() -> new AppException(HttpStatus.NOT_FOUND, "Không tìm thấy thương hiệu với ID: " + brandId, "BRAND_NOT_FOUND"));
 
@@ -378,19 +399,16 @@ public class ProductServiceImpl implements ProductService {
             user = null;
         }
 
-        List<ProductResponse> productResponses = products
+        Set<Long> wishlistProductIds = resolveWishlistProductIds(user, products);
+        Map<String, String> thumbnailUrls = resolveThumbnailUrls(products);
+        Map<String, Map<String, String>> thumbnailVariants = resolveThumbnailVariants(products);
+        List<ProductSummaryResponse> productResponses = products
                 .stream()
                 .map(product -> {
-                    ProductResponse response = productMapper.toProductResponse(product);
-                    if(user != null) {
-                        Boolean isInWishList = wishlistRepository.existsByProductAndUser(product, user);
-                        response.setInWishlist(isInWishList);
-                    } else {
-                        response.setInWishlist(false);
-                    }
-                    FileMetadata fileMetadata = fileMetadataRepository.findByUuid(UUID.fromString(product.getThumbnail()))
-                            .orElseThrow(() -> new AppException(HttpStatus.NOT_FOUND, "Không tìm thấy hình ảnh đại diện cho sản phẩm", "THUMBNAIL_NOT_FOUND"));
-                    response.setThumbnailUrl(fileMetadata.getUrl());
+                    ProductSummaryResponse response = productMapper.toProductSummaryResponse(product);
+                    response.setInWishlist(wishlistProductIds.contains(product.getId()));
+                    response.setThumbnailUrl(getThumbnailUrl(thumbnailUrls, product));
+                    response.setThumbnailVariants(thumbnailVariants.getOrDefault(product.getThumbnail(), Map.of()));
 
                     return response;
                 })
@@ -404,17 +422,127 @@ public class ProductServiceImpl implements ProductService {
     }
 
 
-    private String createSlug(String name) {
-        String baseSlug = SlugUtils.generateSlug(name);
-        int cnt = 1;
-        String slug = baseSlug;
-        while(productRepository.existsBySlug(slug)) {
-            slug = baseSlug + "-" + cnt++;
+    private String createSlug(String name, String currentSlug) {
+        return slugAllocator.allocate(name, currentSlug, productRepository::findSlugFamily);
+    }
+
+    private Set<Long> resolveWishlistProductIds(User user, List<Product> products) {
+        if (user == null || products.isEmpty()) {
+            return Set.of();
+        }
+        return wishlistRepository.findProductIdsByUserIdAndProductIdIn(user.getId(), products.stream()
+                .map(Product::getId)
+                .toList());
+    }
+
+    private void loadCategories(List<Product> products) {
+        if (!products.isEmpty()) {
+            productRepository.findAllWithCategoriesByIdIn(products.stream().map(Product::getId).toList());
         }
-        return slug;
     }
 
-    private Pageable createPageable(int pageIndex, int pageSize, Boolean isAscending) {
+    private Map<String, String> resolveThumbnailUrls(List<Product> products) {
+        return fileMetadataService.getFileUrls(products.stream()
+                .map(Product::getThumbnail)
+                .toList());
+    }
+
+    private Map<String, Map<String, String>> resolveThumbnailVariants(List<Product> products) {
+        return fileMetadataService.getFileVariants(products.stream()
+                .map(Product::getThumbnail)
+                .toList());
+    }
+
+    private String getThumbnailUrl(Map<String, String> thumbnailUrls, Product product) {
+        if (product.getThumbnail() == null || !thumbnailUrls.containsKey(product.getThumbnail())) {
+            throw new AppException(HttpStatus.NOT_FOUND, "Không tìm thấy hình ảnh đại diện cho sản phẩm", "THUMBNAIL_NOT_FOUND");
+        }
+        return thumbnailUrls.get(product.getThumbnail());
+    }
+
+    private List<Long> searchProductIds(String title, ProductFilterCustomerRequest filterRequest) {
+        if (title == null || title.isBlank()) {
+            return null;
+        }
+        Long brandId = null;
+        if (filterRequest.getBrand() != null && !filterRequest.getBrand().isEmpty()) {
+            brandId = brandRepository.findIdBySlug(filterRequest.getBrand()).orElse(null);
+            if (brandId == null) {
+                return List.of();
+            }
+        }
+        Long categoryId = null;
+        if (filterRequest.getCategory() != null && !filterRequest.getCategory().isEmpty()) {
+            categoryId = categoryRepository.findIdBySlug(filterRequest.getCategory()).orElse(null);
+            if (categoryId == null) {
+                return List.of();
+            }
+        }
+        return searchProductIds(title, new ProductSearchFilter(true, brandId, categoryId,
+                filterRequest.getPriceFrom(), filterRequest.getPriceTo()));
+    }
+
+    private List<Long> searchProductIds(String title, ProductSearchFilter filter) {
+        if (title == null || title.isBlank()) {
+            return null;
+        }
+        return productSearchIndex.search(title, filter);
+    }
+
+    private PageResponse<List<Product>> findProductPage(Specification<Product> specification, int pageIndex, int pageSize,
+                                                        Boolean isAscending, String title, String cursor, Boolean includeTotal) {
+        if (cursor != null) {
+            if (isAscending == null && title != null && !title.isBlank()) {
+                throw new AppException(HttpStatus.BAD_REQUEST,
+                        "Không hỗ trợ phân trang bằng con trỏ khi sắp xếp theo mức độ liên quan", "INVALID_CURSOR");
+            }
+            Sort keysetSort = createKeysetSort(isAscending);
+            Window<Product> window = productRepository.findBy(specification, query -> query
+                    .project("brand")
+                    .sortBy(keysetSort)
+                    .limit(pageSize <= 0 ? 10 : pageSize)
+                    .scroll(CursorUtils.decode(cursor, keysetSort)));
+
+            return PageResponse.<List<Product>>builder()
+                    .content(window.getContent())
+                    .hasNext(window.hasNext())
+                    .hasPrevious(!cursor.isBlank())
+                    .nextCursor(window.hasNext() ? CursorUtils.encode(window.positionAt(window.size() - 1), keysetSort) : null)
+                    .totalElements(Boolean.TRUE.equals(includeTotal) ? productRepository.count(specification) : null)
+                    .build();
+        }
+
+        Pageable pageable = createPageable(pageIndex, pageSize, isAscending, title);
+        if (Boolean.FALSE.equals(includeTotal)) {
+            Slice<Product> productSlice = productRepository.findBy(specification, query -> query.project("brand").slice(pageable));
+            return PageResponse.<List<Product>>builder()
+                    .content(productSlice.getContent())
+                    .currentPage(pageIndex)
+                    .hasNext(productSlice.hasNext())
+                    .hasPrevious(productSlice.hasPrevious())
+                    .build();
+        }
+
+        Page<Product> productPage = productRepository.findAll(specification, pageable);
+        return PageResponse.<List<Product>>builder()
+                .content(productPage.getContent())
+                .currentPage(pageIndex)
+                .totalPages(productPage.getTotalPages())
+                .totalElements(productPage.getTotalElements())
+                .hasNext(productPage.hasNext())
+                .hasPrevious(productPage.hasPrevious())
+                .build();
+    }
+
+    private Sort createKeysetSort(Boolean isAscending) {
+        if (isAscending == null) {
+            return Sort.by(Sort.Direction.DESC, "createdAt", "id");
+        }
+        Sort.Direction direction = isAscending ? Sort.Direction.ASC : Sort.Direction.DESC;
+        return Sort.by(direction, "priceNew", "id");
+    }
+
+    private Pageable createPageable(int pageIndex, int pageSize, Boolean isAscending, String title) {
         if (pageIndex <= 0) {
             pageIndex = 1;
         }
@@ -422,7 +550,9 @@ public class ProductServiceImpl implements ProductService {
             pageSize = 10;
         }
         Sort sort;
-        if (isAscending == null) {
+        if (isAscending == null && title != null && !title.isBlank()) {
+            sort = Sort.unsorted();
+        } else if (isAscending == null) {
             sort = Sort.by(Sort.Direction.DESC, "createdAt");
         } else {
             sort = Sort.by(isAscending ? Sort.Direction.ASC : Sort.Direction.DESC, "priceNew");
@@ -0,0 +1,496 @@
+package com.pharmacy.backend.service.impl;
+
+import com.pharmacy.backend.cache.CatalogVersionCache;
+import com.pharmacy.backend.cache.FileMetadataCache;
+import com.pharmacy.backend.dto.response.ApiResponse;
+import com.pharmacy.backend.dto.response.ProductImportErrorResponse;
+import com.pharmacy.backend.dto.response.ProductImportJobResponse;
+import com.pharmacy.backend.entity.Brand;
+import com.pharmacy.backend.entity.Category;
+import com.pharmacy.backend.entity.Product;
+import com.pharmacy.backend.enums.CatalogAreaEnum;
+import com.pharmacy.backend.enums.CategoryTypeEnum;
+import com.pharmacy.backend.enums.ImportJobStatusEnum;
+import com.pharmacy.backend.enums.StatisticCounterEnum;
+import com.pharmacy.backend.exception.AppException;
+import com.pharmacy.backend.repository.BrandRepository;
+import com.pharmacy.backend.repository.CategoryRepository;
+import com.pharmacy.backend.repository.ProductRepository;
+import com.pharmacy.backend.search.ProductSearchIndex;
+import com.pharmacy.backend.service.ProductTransferService;
+import com.pharmacy.backend.service.StatisticService;
+import com.pharmacy.backend.utils.CsvUtils;
+import com.pharmacy.backend.utils.SlugUtils;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.sql.DataSource;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProductTransferServiceImpl implements ProductTransferService {
+    static final List<String> COLUMNS = List.of("title", "priceOld", "priceNew", "quantity", "manufacturer", "type",
+            "noted", "indication", "priority", "description", "registrationNumber", "activeIngredient", "dosageForm",
+            "brandSlug", "categorySlugs", "thumbnail", "active");
+    static final Set<String> OPTIONAL_COLUMNS = Set.of("priority", "active");
+    static final List<String> EXPORT_COLUMNS = Stream.concat(Stream.of("id", "slug"), COLUMNS.stream()).toList();
+    static final String LIST_SEPARATOR = "|";
+    static final int MAX_REPORTED_ERRORS = 1000;
+    static final int MAX_RETAINED_JOBS = 50;
+
+    static final String INSERT_PRODUCT_SQL = "INSERT INTO products (title, price_old, price_new, quantity, manufacturer, " +
+            "type, noted, indication, priority, description, registration_number, active_ingredient, dosage_form, " +
+            "brand_id, thumbnail, slug, active, number_of_likes, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    static final String INSERT_PRODUCT_CATEGORY_SQL = "INSERT INTO product_categories (product_id, category_id) VALUES (?, ?)";
+    static final String EXPORT_SQL = "SELECT p.id AS id, p.slug AS slug, p.title AS title, p.price_old AS priceOld, " +
+            "p.price_new AS priceNew, p.quantity AS quantity, p.manufacturer AS manufacturer, p.type AS type, " +
+            "p.noted AS noted, p.indication AS indication, p.priority AS priority, p.description AS description, " +
+            "p.registration_number AS registrationNumber, p.active_ingredient AS activeIngredient, " +
+            "p.dosage_form AS dosageForm, b.slug AS brandSlug, " +
+            "(SELECT GROUP_CONCAT(c.slug ORDER BY c.id SEPARATOR '" + LIST_SEPARATOR + "') FROM product_categories pc " +
+            "JOIN categories c ON c.id = pc.category_id WHERE pc.product_id = p.id) AS categorySlugs, " +
+            "p.thumbnail AS thumbnail, p.active AS active " +
+            "FROM products p LEFT JOIN brands b ON b.id = p.brand_id ORDER BY p.id";
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final ProductRepository productRepository;
+    private final BrandRepository brandRepository;
+    private final CategoryRepository categoryRepository;
+    private final FileMetadataCache fileMetadataCache;
+    private final ProductSearchIndex productSearchIndex;
+    private final StatisticService statisticService;
+    private final CatalogVersionCache catalogVersionCache;
+
+    @Value("${product.import.batch-size:500}")
+    private int batchSize;
+
+    @Value("${product.import.parallelism:2}")
+    private int importParallelism;
+
+    private ExecutorService importExecutor;
+    private JdbcTemplate streamingJdbcTemplate;
+    private TransactionTemplate writeTransaction;
+    private TransactionTemplate readOnlyTransaction;
+
+    private final Map<String, ImportJob> jobs = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, ImportJob> eldest) {
+            return size() > MAX_RETAINED_JOBS && eldest.getValue().isFinished();
+        }
+    };
+
+    @PostConstruct
+    void start() {
+        importExecutor = Executors.newFixedThreadPool(importParallelism, Thread.ofVirtual().name("product-import-", 0).factory());
+        streamingJdbcTemplate = new JdbcTemplate(dataSource);
+        streamingJdbcTemplate.setFetchSize(Integer.MIN_VALUE);
+        writeTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    @PreDestroy
+    void stop() {
+        importExecutor.shutdown();
+    }
+
+    @Override
+    public ApiResponse<ProductImportJobResponse> startImport(MultipartFile file) {
+        if (file == null || file.isEmpty()) {
+            throw new AppException(HttpStatus.BAD_REQUEST, "Tệp nhập không được để trống", "IMPORT_FILE_REQUIRED");
+        }
+        String fileName = file.getOriginalFilename();
+        if (fileName == null || !fileName.toLowerCase().endsWith(".csv")) {
+            throw new AppException(HttpStatus.BAD_REQUEST, "Chỉ hỗ trợ nhập tệp CSV", "UNSUPPORTED_IMPORT_FORMAT");
+        }
+
+        Path spooled;
+        try {
+            spooled = Files.createTempFile("product-import-", ".csv");
+            file.transferTo(spooled);
+        } catch (IOException e) {
+            throw new AppException(HttpStatus.INTERNAL_SERVER_ERROR, "Không thể đọc tệp nhập", e.getMessage());
+        }
+
+        ImportJob job = new ImportJob(UUID.randomUUID().toString(), fileName);
+        synchronized (jobs) {
+            jobs.put(job.id, job);
+        }
+        importExecutor.submit(() -> runImport(job, spooled));
+
+        return ApiResponse.buildResponse(
+                HttpStatus.ACCEPTED.value(),
+                "Đã bắt đầu nhập sản phẩm",
+                job.toResponse()
+        );
+    }
+
+    @Override
+    public ApiResponse<ProductImportJobResponse> getImportJob(String jobId) {
+        ImportJob job;
+        synchronized (jobs) {
+            job = jobs.get(jobId);
+        }
+        if (job == null) {
+            throw new AppException(HttpStatus.NOT_FOUND, "Không tìm thấy tiến trình nhập sản phẩm: " + jobId, "IMPORT_JOB_NOT_FOUND");
+        }
+
+        return ApiResponse.buildResponse(
+                HttpStatus.OK.value(),
+                "Lấy tiến trình nhập sản phẩm thành công",
+                job.toResponse()
+        );
+    }
+
+    @Override
+    public void exportProducts(OutputStream outputStream) {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try {
+                writer.write('\uFEFF');
+                CsvUtils.writeRecord(writer, EXPORT_COLUMNS);
+                streamingJdbcTemplate.query(EXPORT_SQL, rs -> {
+                    List<Object> values = new ArrayList<>(EXPORT_COLUMNS.size());
+                    for (String column : EXPORT_COLUMNS) {
+                        values.add(rs.getObject(column));
+                    }
+                    try {
+                        CsvUtils.writeRecord(writer, values);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                writer.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private void runImport(ImportJob job, Path file) {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            Map<String, Integer> columns = readHeader(CsvUtils.readRecord(reader));
+            ImportContext context = loadContext();
+            List<PendingProduct> chunk = new ArrayList<>(batchSize);
+
+            long rowNumber = 1;
+            List<String> record;
+            while ((record = CsvUtils.readRecord(reader)) != null) {
+                rowNumber++;
+                if (record.stream().allMatch(String::isBlank)) {
+                    continue;
+                }
+                try {
+                    chunk.add(parseRow(rowNumber, record, columns, context));
+                } catch (IllegalArgumentException e) {
+                    job.fail(rowNumber, e.getMessage());
+                }
+                job.processedRows.incrementAndGet();
+                if (chunk.size() >= batchSize) {
+                    flush(job, chunk);
+                }
+            }
+            flush(job, chunk);
+            job.finish(ImportJobStatusEnum.COMPLETED, null);
+            log.info("Product import {} finished: {} imported, {} failed", job.id, job.importedRows.get(), job.failedRows.get());
+        } catch (IOException | RuntimeException e) {
+            log.warn("Product import {} failed", job.id, e);
+            job.finish(ImportJobStatusEnum.FAILED, e.getMessage());
+        } finally {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.warn("Could not delete temporary import {}", file, e);
+            }
+        }
+    }
+
+    private Map<String, Integer> readHeader(List<String> header) {
+        if (header == null) {
+            throw new IllegalArgumentException("Tệp CSV không có dữ liệu");
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim(), i);
+        }
+        List<String> missing = COLUMNS.stream()
+                .filter(column -> !OPTIONAL_COLUMNS.contains(column) && !columns.containsKey(column))
+                .toList();
+        if (!missing.isEmpty()) {
+            throw new IllegalArgumentException("Thiếu cột: " + String.join(", ", missing));
+        }
+        return columns;
+    }
+
+    private ImportContext loadContext() {
+        Map<String, Long> brandIds = brandRepository.findAll().stream()
+                .filter(brand -> brand.getSlug() != null)
+                .collect(Collectors.toMap(Brand::getSlug, Brand::getId, (first, second) -> first));
+        Map<String, Long> categoryIds = categoryRepository.findByType(CategoryTypeEnum.PRODUCT).stream()
+                .filter(category -> category.getSlug() != null)
+                .collect(Collectors.toMap(Category::getSlug, Category::getId, (first, second) -> first));
+        return new ImportContext(brandIds, categoryIds, new HashSet<>(productRepository.findAllSlugs()));
+    }
+
+    private PendingProduct parseRow(long rowNumber, List<String> record, Map<String, Integer> columns, ImportContext context) {
+        Product product = new Product();
+        product.setTitle(requireText(record, columns, "title"));
+        product.setPriceOld(parseLong(requireText(record, columns, "priceOld"), "priceOld"));
+        product.setPriceNew(parseLong(requireText(record, columns, "priceNew"), "priceNew"));
+        product.setQuantity(parseLong(requireText(record, columns, "quantity"), "quantity"));
+        product.setManufacturer(requireText(record, columns, "manufacturer"));
+        product.setType(requireText(record, columns, "type"));
+        product.setNoted(requireText(record, columns, "noted"));
+        product.setIndication(requireText(record, columns, "indication"));
+        product.setDescription(requireText(record, columns, "description"));
+        product.setRegistrationNumber(requireText(record, columns, "registrationNumber"));
+        product.setActiveIngredient(requireText(record, columns, "activeIngredient"));
+        product.setDosageForm(requireText(record, columns, "dosageForm"));
+
+        String priority = text(record, columns, "priority");
+        if (priority != null) {
+            product.setPriority(parseLong(priority, "priority"));
+        }
+        String active = text(record, columns, "active");
+        if (active != null) {
+            product.setActive(Boolean.parseBoolean(active) || "1".equals(active));
+        }
+
+        String brandSlug = requireText(record, columns, "brandSlug");
+        Long brandId = context.brandIds().get(brandSlug);
+        if (brandId == null) {
+            throw new IllegalArgumentException("Không tìm thấy thương hiệu: " + brandSlug);
+        }
+
+        List<Long> categoryIds = new ArrayList<>();
+        for (String categorySlug : requireText(record, columns, "categorySlugs").split("\\" + LIST_SEPARATOR)) {
+            if (categorySlug.isBlank()) {
+                continue;
+            }
+            Long categoryId = context.categoryIds().get(categorySlug.trim());
+            if (categoryId == null) {
+                throw new IllegalArgumentException("Không tìm thấy danh mục: " + categorySlug.trim());
+            }
+            categoryIds.add(categoryId);
+        }
+        if (categoryIds.isEmpty()) {
+            throw new IllegalArgumentException("Danh sách danh mục không được để trống");
+        }
+
+        String thumbnail = requireText(record, columns, "thumbnail");
+        UUID thumbnailId;
+        try {
+            thumbnailId = UUID.fromString(thumbnail);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Thumbnail không hợp lệ: " + thumbnail);
+        }
+        product.setThumbnail(thumbnailId.toString());
+
+        String baseSlug = SlugUtils.generateSlug(product.getTitle());
+        if (baseSlug == null || baseSlug.isEmpty()) {
+            throw new IllegalArgumentException("Không thể tạo slug từ tên sản phẩm: " + product.getTitle());
+        }
+        String slug = SlugUtils.nextAvailable(baseSlug, context.slugs());
+        context.slugs().add(slug);
+        product.setSlug(slug);
+
+        return new PendingProduct(rowNumber, product, brandId, categoryIds, thumbnailId);
+    }
+
+    private void flush(ImportJob job, List<PendingProduct> chunk) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        Set<UUID> existingThumbnails = fileMetadataCache.findAllByUuidIn(chunk.stream()
+                        .map(PendingProduct::thumbnail)
+                        .collect(Collectors.toSet()))
+                .keySet();
+
+        List<PendingProduct> valid = new ArrayList<>(chunk.size());
+        for (PendingProduct pending : chunk) {
+            if (existingThumbnails.contains(pending.thumbnail())) {
+                valid.add(pending);
+            } else {
+                job.fail(pending.rowNumber(), "Không tìm thấy thumbnail: " + pending.thumbnail());
+            }
+        }
+        chunk.clear();
+        if (valid.isEmpty()) {
+            return;
+        }
+
+        try {
+            writeTransaction.executeWithoutResult(status -> insert(valid));
+            valid.forEach(pending -> productSearchIndex.index(pending.product(), pending.brandId(), pending.categoryIds()));
+            job.importedRows.addAndGet(valid.size());
+        } catch (RuntimeException e) {
+            log.warn("Could not insert product import batch for job {}", job.id, e);
+            valid.forEach(pending -> job.fail(pending.rowNumber(), "Không thể lưu sản phẩm: " + e.getMessage()));
+        }
+    }
+
+    private void insert(List<PendingProduct> products) {
+        LocalDateTime now = LocalDateTime.now();
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(INSERT_PRODUCT_SQL, Statement.RETURN_GENERATED_KEYS),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        PendingProduct pending = products.get(i);
+                        Product product = pending.product();
+                        ps.setString(1, product.getTitle());
+                        ps.setLong(2, product.getPriceOld());
+                        ps.setLong(3, product.getPriceNew());
+                        ps.setLong(4, product.getQuantity());
+                        ps.setString(5, product.getManufacturer());
+                        ps.setString(6, product.getType());
+                        ps.setString(7, product.getNoted());
+                        ps.setString(8, product.getIndication());
+                        ps.setLong(9, product.getPriority());
+                        ps.setString(10, product.getDescription());
+                        ps.setString(11, product.getRegistrationNumber());
+                        ps.setString(12, product.getActiveIngredient());
+                        ps.setString(13, product.getDosageForm());
+                        ps.setLong(14, pending.brandId());
+                        ps.setString(15, product.getThumbnail());
+                        ps.setString(16, product.getSlug());
+                        ps.setBoolean(17, product.getActive());
+                        ps.setLong(18, product.getNumberOfLikes());
+                        ps.setObject(19, now);
+                        ps.setObject(20, now);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return products.size();
+                    }
+                }, keyHolder);
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        List<Object[]> productCategories = new ArrayList<>();
+        for (int i = 0; i < products.size(); i++) {
+            PendingProduct pending = products.get(i);
+            Product product = pending.product();
+            product.setId(((Number) keys.get(i).values().iterator().next()).longValue());
+            pending.categoryIds().forEach(categoryId -> productCategories.add(new Object[]{product.getId(), categoryId}));
+        }
+        jdbcTemplate.batchUpdate(INSERT_PRODUCT_CATEGORY_SQL, productCategories);
+        statisticService.recordCounter(StatisticCounterEnum.PRODUCT, products.size());
+        catalogVersionCache.bump(CatalogAreaEnum.PRODUCT);
+    }
+
+    private String text(List<String> record, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= record.size()) {
+            return null;
+        }
+        String value = record.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private String requireText(List<String> record, Map<String, Integer> columns, String column) {
+        String value = text(record, columns, column);
+        if (value == null) {
+            throw new IllegalArgumentException("Cột " + column + " không được để trống");
+        }
+        return value;
+    }
+
+    private Long parseLong(String value, String column) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Giá trị không hợp lệ ở cột " + column + ": " + value);
+        }
+    }
+
+    private record ImportContext(Map<String, Long> brandIds, Map<String, Long> categoryIds, Set<String> slugs) {
+    }
+
+    private record PendingProduct(long rowNumber, Product product, Long brandId, List<Long> categoryIds, UUID thumbnail) {
+    }
+
+    private static final class ImportJob {
+        final String id;
+        final String fileName;
+        final LocalDateTime startedAt = LocalDateTime.now();
+        final AtomicLong processedRows = new AtomicLong();
+        final AtomicLong importedRows = new AtomicLong();
+        final AtomicLong failedRows = new AtomicLong();
+        final List<ProductImportErrorResponse> errors = Collections.synchronizedList(new ArrayList<>());
+        volatile ImportJobStatusEnum status = ImportJobStatusEnum.RUNNING;
+        volatile String message;
+        volatile LocalDateTime finishedAt;
+
+        ImportJob(String id, String fileName) {
+            this.id = id;
+            this.fileName = fileName;
+        }
+
+        void fail(long rowNumber, String message) {
+            failedRows.incrementAndGet();
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new ProductImportErrorResponse(rowNumber, message));
+            }
+        }
+
+        void finish(ImportJobStatusEnum status, String message) {
+            this.message = message;
+            this.finishedAt = LocalDateTime.now();
+            this.status = status;
+        }
+
+        boolean isFinished() {
+            return status != ImportJobStatusEnum.RUNNING;
+        }
+
+        ProductImportJobResponse toResponse() {
+            List<ProductImportErrorResponse> errorSnapshot;
+            synchronized (errors) {
+                errorSnapshot = List.copyOf(errors);
+            }
+            return ProductImportJobResponse.builder()
+                    .id(id)
+                    .fileName(fileName)
+                    .status(status.name())
+                    .message(message)
+                    .processedRows(processedRows.get())
+                    .importedRows(importedRows.get())
+                    .failedRows(failedRows.get())
+                    .errors(errorSnapshot)
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .build();
+        }
+    }
+}
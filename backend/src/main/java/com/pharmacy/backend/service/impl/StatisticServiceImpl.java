@@ -0,0 +1,196 @@
+package com.pharmacy.backend.service.impl;
+
+import com.pharmacy.backend.datasource.ReadOnlyTransactional;
+import com.pharmacy.backend.dto.response.ApiResponse;
+import com.pharmacy.backend.dto.response.RevenueStatisticResponse;
+import com.pharmacy.backend.entity.Order;
+import com.pharmacy.backend.entity.OrderDailyStatistic;
+import com.pharmacy.backend.entity.StatisticCounter;
+import com.pharmacy.backend.enums.*;
+import com.pharmacy.backend.exception.AppException;
+import com.pharmacy.backend.repository.OrderDailyStatisticRepository;
+import com.pharmacy.backend.repository.StatisticCounterRepository;
+import com.pharmacy.backend.service.StatisticService;
+import com.pharmacy.backend.utils.TransactionUtils;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.IsoFields;
+import java.time.temporal.TemporalAdjusters;
+import java.util.*;
+
+@Service
+@RequiredArgsConstructor
+public class StatisticServiceImpl implements StatisticService {
+    static final int DEFAULT_RANGE_DAYS = 30;
+    static final int MAX_RANGE_DAYS = 3660;
+
+    private final OrderDailyStatisticRepository orderDailyStatisticRepository;
+    private final StatisticCounterRepository statisticCounterRepository;
+
+    @Transactional
+    @Override
+    public void recordOrderCreated(Order order) {
+        TransactionUtils.beforeCommit(() -> accumulate(order, 1,
+                contribution(order.getStatus(), order.getPaymentStatus(), order.getTotalPrice())));
+    }
+
+    @Transactional
+    @Override
+    public void recordOrderChanged(Order order, OrderStatusEnum previousStatus, PaymentStatusEnum previousPaymentStatus) {
+        Contribution before = contribution(previousStatus, previousPaymentStatus, order.getTotalPrice());
+        Contribution after = contribution(order.getStatus(), order.getPaymentStatus(), order.getTotalPrice());
+        accumulate(order, 0, after.minus(before));
+    }
+
+    @Transactional
+    @Override
+    public void recordCounter(StatisticCounterEnum counter, long delta) {
+        statisticCounterRepository.increment(counter.name(), delta);
+    }
+
+    @Override
+    public Optional<Long> getCounter(StatisticCounterEnum counter) {
+        return statisticCounterRepository.findById(counter).map(StatisticCounter::getTotal);
+    }
+
+    @Override
+    public long getTotalOrders() {
+        return orderDailyStatisticRepository.sumOrderCount();
+    }
+
+    @Override
+    public long getTotalRevenue() {
+        return orderDailyStatisticRepository.sumRevenue();
+    }
+
+    @ReadOnlyTransactional
+    @Override
+    public ApiResponse<List<RevenueStatisticResponse>> getRevenueByPeriod(LocalDate fromDate, LocalDate toDate, String groupBy) {
+        StatisticPeriodEnum period;
+        try {
+            period = StatisticPeriodEnum.valueOf(groupBy.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new AppException(HttpStatus.BAD_REQUEST, "Kiểu thống kê không hợp lệ: " + groupBy, "INVALID_STATISTIC_PERIOD");
+        }
+        LocalDate to = toDate != null ? toDate : LocalDate.now();
+        LocalDate from = fromDate != null ? fromDate : to.minusDays(DEFAULT_RANGE_DAYS - 1);
+        validateRange(from, to);
+
+        Map<LocalDate, RevenueStatisticResponse> buckets = new LinkedHashMap<>();
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            buckets.computeIfAbsent(periodStart(date, period), start -> RevenueStatisticResponse.builder()
+                    .label(periodLabel(start, period))
+                    .fromDate(start.isBefore(from) ? from : start)
+                    .toDate(periodEnd(start, period).isAfter(to) ? to : periodEnd(start, period))
+                    .build());
+        }
+        orderDailyStatisticRepository.findAllByStatDateBetweenOrderByStatDateAsc(from, to)
+                .forEach(row -> add(buckets.get(periodStart(row.getStatDate(), period)), row));
+
+        return ApiResponse.buildResponse(
+                HttpStatus.OK.value(),
+                "Lấy thống kê doanh thu theo thời gian thành công",
+                List.copyOf(buckets.values())
+        );
+    }
+
+    @ReadOnlyTransactional
+    @Override
+    public ApiResponse<List<RevenueStatisticResponse>> getRevenueByPaymentMethod(LocalDate fromDate, LocalDate toDate) {
+        LocalDate to = toDate != null ? toDate : LocalDate.now();
+        LocalDate from = fromDate != null ? fromDate : to.minusDays(DEFAULT_RANGE_DAYS - 1);
+        validateRange(from, to);
+
+        Map<PaymentMethodEnum, RevenueStatisticResponse> buckets = new EnumMap<>(PaymentMethodEnum.class);
+        for (PaymentMethodEnum paymentMethod : PaymentMethodEnum.values()) {
+            buckets.put(paymentMethod, RevenueStatisticResponse.builder()
+                    .label(paymentMethod.name())
+                    .fromDate(from)
+                    .toDate(to)
+                    .build());
+        }
+        orderDailyStatisticRepository.findAllByStatDateBetweenOrderByStatDateAsc(from, to)
+                .forEach(row -> add(buckets.get(row.getPaymentMethod()), row));
+
+        return ApiResponse.buildResponse(
+                HttpStatus.OK.value(),
+                "Lấy thống kê doanh thu theo phương thức thanh toán thành công",
+                List.copyOf(buckets.values())
+        );
+    }
+
+    private void accumulate(Order order, long orderCount, Contribution contribution) {
+        if (orderCount == 0 && contribution.isEmpty()) {
+            return;
+        }
+        LocalDate statDate = order.getCreatedAt() != null ? order.getCreatedAt().toLocalDate() : LocalDate.now();
+        orderDailyStatisticRepository.accumulate(statDate, order.getPaymentMethod().name(), orderCount,
+                contribution.deliveredCount(), contribution.revenue(), contribution.paidRevenue());
+    }
+
+    private Contribution contribution(OrderStatusEnum status, PaymentStatusEnum paymentStatus, Long totalPrice) {
+        long price = totalPrice != null ? totalPrice : 0L;
+        boolean delivered = status == OrderStatusEnum.DELIVERED;
+        boolean paid = paymentStatus == PaymentStatusEnum.COMPLETED;
+        return new Contribution(delivered ? 1 : 0, delivered ? price : 0, paid ? price : 0);
+    }
+
+    private void validateRange(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new AppException(HttpStatus.BAD_REQUEST, "Ngày bắt đầu phải trước ngày kết thúc", "INVALID_DATE_RANGE");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_RANGE_DAYS) {
+            throw new AppException(HttpStatus.BAD_REQUEST, "Khoảng thời gian thống kê quá dài", "INVALID_DATE_RANGE");
+        }
+    }
+
+    private void add(RevenueStatisticResponse bucket, OrderDailyStatistic row) {
+        bucket.setOrderCount(bucket.getOrderCount() + row.getOrderCount());
+        bucket.setDeliveredCount(bucket.getDeliveredCount() + row.getDeliveredCount());
+        bucket.setRevenue(bucket.getRevenue() + row.getRevenue());
+        bucket.setPaidRevenue(bucket.getPaidRevenue() + row.getPaidRevenue());
+    }
+
+    private LocalDate periodStart(LocalDate date, StatisticPeriodEnum period) {
+        return switch (period) {
+            case DAY -> date;
+            case WEEK -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH -> date.withDayOfMonth(1);
+        };
+    }
+
+    private LocalDate periodEnd(LocalDate start, StatisticPeriodEnum period) {
+        return switch (period) {
+            case DAY -> start;
+            case WEEK -> start.plusDays(6);
+            case MONTH -> start.with(TemporalAdjusters.lastDayOfMonth());
+        };
+    }
+
+    private String periodLabel(LocalDate start, StatisticPeriodEnum period) {
+        return switch (period) {
+            case DAY -> start.toString();
+            case WEEK -> String.format("%d-W%02d", start.get(IsoFields.WEEK_BASED_YEAR), start.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR));
+            case MONTH -> YearMonth.from(start).toString();
+        };
+    }
+
+    private record Contribution(long deliveredCount, long revenue, long paidRevenue) {
+        Contribution minus(Contribution other) {
+            return new Contribution(deliveredCount - other.deliveredCount,
+                    revenue - other.revenue,
+                    paidRevenue - other.paidRevenue);
+        }
+
+        boolean isEmpty() {
+            return deliveredCount == 0 && revenue == 0 && paidRevenue == 0;
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package com.pharmacy.backend.service.impl;
 
+import com.pharmacy.backend.datasource.ReadOnlyTransactional;
+import com.pharmacy.backend.cache.FileMetadataCache;
+import com.pharmacy.backend.cache.TokenRevocationCache;
 import com.pharmacy.backend.dto.request.RoleRequest;
 import com.pharmacy.backend.dto.response.ApiResponse;
 import com.pharmacy.backend.dto.response.PageResponse;
@@ -8,12 +11,13 @@ import com.pharmacy.backend.entity.FileMetadata;
 import com.pharmacy.backend.entity.Role;
 import com.pharmacy.backend.entity.User;
 import com.pharmacy.backend.enums.RoleCodeEnum;
+import com.pharmacy.backend.enums.StatisticCounterEnum;
 import com.pharmacy.backend.exception.AppException;
 import com.pharmacy.backend.mapper.UserMapper;
-import com.pharmacy.backend.repository.FileMetadataRepository;
 import com.pharmacy.backend.repository.RoleRepository;
 import com.pharmacy.backend.repository.UserRepository;
 import com.pharmacy.backend.security.SecurityUtils;
+import com.pharmacy.backend.service.StatisticService;
 import com.pharmacy.backend.service.UserService;
 import jakarta.transaction.Transactional;
 import lombok.AccessLevel;
@@ -38,8 +42,10 @@ import java.util.stream.Collectors;
 public class UserServiceImpl implements UserService {
     RoleRepository roleRepository;
     UserRepository userRepository;
+    TokenRevocationCache tokenRevocationCache;
     UserMapper userMapper;
-    FileMetadataRepository fileMetadataRepository;
+    FileMetadataCache fileMetadataCache;
+    StatisticService statisticService;
 
 
     @Transactional
@@ -64,7 +70,7 @@ public class UserServiceImpl implements UserService {
         List<UserResponse> userResponses = userPage.getContent().stream()
                 .map(user -> {
                     UserResponse userResponse = userMapper.toUserResponse(user);
-                    FileMetadata fileMetadata = fileMetadataRepository.findByUuid(UUID.fromString(user.getProfilePic()))
+                    FileMetadata fileMetadata = fileMetadataCache.findByUuid(UUID.fromString(user.getProfilePic()))
                             .orElseThrow(() -> new AppException(HttpStatus.NOT_FOUND,
                                     "Ảnh đại diện không tồn tại", user.getProfilePic()));
                     userResponse.setProfilePic(fileMetadata.getUrl());
@@ -95,7 +101,7 @@ public class UserServiceImpl implements UserService {
                 .orElseThrow(() -> new AppException(HttpStatus.NOT_FOUND, "Người dùng không tồn tại", SecurityUtils.getCurrentUserId()));
         UserResponse userResponse = userMapper.toUserResponse(currentUser);
         userResponse.setRoles(null);
-        FileMetadata fileMetadata = fileMetadataRepository.findByUuid(UUID.fromString(currentUser.getProfilePic()))
+        FileMetadata fileMetadata = fileMetadataCache.findByUuid(UUID.fromString(currentUser.getProfilePic()))
                 .orElseThrow(() -> new AppException(HttpStatus.NOT_FOUND, "Ảnh đại diện không tồn tại", currentUser.getProfilePic()));
         userResponse.setProfilePic(fileMetadata.getUrl());
         return ApiResponse.buildResponse(
@@ -105,9 +111,11 @@ public class UserServiceImpl implements UserService {
         );
     }
 
+    @ReadOnlyTransactional
     @Override
     public ApiResponse<Long> getTotalUser() {
-        Long totalUsers = userRepository.count();
+        Long totalUsers = statisticService.getCounter(StatisticCounterEnum.USER)
+                .orElseGet(userRepository::count);
         return ApiResponse.buildResponse(
                 HttpStatus.OK.value(),
                 "Lấy tổng số người dùng thành công",
@@ -143,6 +151,7 @@ public class UserServiceImpl implements UserService {
         user.setRoles(roles);
         user.setTokenVersion(user.getTokenVersion() + 1);
         User savedUser = userRepository.save(user);
+        tokenRevocationCache.evictTokenVersion(userId);
         UserResponse userResponse = userMapper.toUserResponse(savedUser);
 
         return ApiResponse.buildResponse(
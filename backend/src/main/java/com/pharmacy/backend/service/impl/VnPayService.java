@@ -11,6 +11,7 @@ import com.pharmacy.backend.repository.OrderRepository;
 import com.pharmacy.backend.repository.UserRepository;
 import com.pharmacy.backend.security.SecurityUtils;
 import com.pharmacy.backend.service.EmailService;
+import com.pharmacy.backend.service.StatisticService;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
@@ -36,6 +37,7 @@ public class VnPayService {
     private final VnPayConfig vnPayConfig;
     private final EmailService emailService;
     private final UserRepository userRepository;
+    private final StatisticService statisticService;
 
     @Value("${frontend.vnp-return}")
     String frontendUrl;
@@ -56,27 +58,26 @@ public class VnPayService {
             throw new AppException(HttpStatus.BAD_REQUEST, "Chữ ký không hợp lệ", "Invalid signature");
         }
 
-        Order order = orderRepository.findById(Long.parseLong(vnp_TxnRef))
+        Order order = orderRepository.findByIdForUpdate(Long.parseLong(vnp_TxnRef))
                 .orElseThrow(() -> new AppException(HttpStatus.BAD_REQUEST, "Không tìm thấy đơn hàng", "Order not found"));
+        OrderStatusEnum previousStatus = order.getStatus();
+        PaymentStatusEnum previousPaymentStatus = order.getPaymentStatus();
 
 
 
         if ("00".equals(vnp_ResponseCode)) {
                 order.setPaymentStatus(PaymentStatusEnum.COMPLETED);
                 order.setStatus(OrderStatusEnum.PENDING);
-                try {
-                    User user = userRepository.findById(Objects.requireNonNull(SecurityUtils.getCurrentUserId()))
-                            .orElseThrow(() -> new AppException(HttpStatus.NOT_FOUND, "Không tìm thấy người dùng", "User not found"));
-                    emailService.sendOrderConfirmationEmail(order, user.getEmail());
-                } catch (Exception e) {
-                    throw new AppException(HttpStatus.INTERNAL_SERVER_ERROR, "Không thể gửi email xác nhận", "Failed to send confirmation email");
-                }
+                User user = userRepository.findById(Objects.requireNonNull(SecurityUtils.getCurrentUserId()))
+                        .orElseThrow(() -> new AppException(HttpStatus.NOT_FOUND, "Không tìm thấy người dùng", "User not found"));
+                emailService.sendOrderConfirmationEmail(order, user.getEmail());
         } else {
                 order.setPaymentStatus(PaymentStatusEnum.FAILED);
                 order.setStatus(OrderStatusEnum.CANCELLED);
         }
 
         orderRepository.save(order);
+        statisticService.recordOrderChanged(order, previousStatus, previousPaymentStatus);
         return ApiResponse.buildResponse(
                 HttpStatus.OK.value(),
                 "Thanh toán thành công",
@@ -1,14 +1,16 @@
 package com.pharmacy.backend.service.impl;
 
+import com.pharmacy.backend.cache.CatalogVersionCache;
+import com.pharmacy.backend.cache.FileMetadataCache;
 import com.pharmacy.backend.dto.response.ApiResponse;
 import com.pharmacy.backend.dto.response.ProductResponse;
 import com.pharmacy.backend.entity.FileMetadata;
 import com.pharmacy.backend.entity.Product;
 import com.pharmacy.backend.entity.User;
 import com.pharmacy.backend.entity.Wishlist;
+import com.pharmacy.backend.enums.CatalogAreaEnum;
 import com.pharmacy.backend.exception.AppException;
 import com.pharmacy.backend.mapper.ProductMapper;
-import com.pharmacy.backend.repository.FileMetadataRepository;
 import com.pharmacy.backend.repository.ProductRepository;
 import com.pharmacy.backend.repository.UserRepository;
 import com.pharmacy.backend.repository.WishlistRepository;
@@ -30,7 +32,8 @@ public class WishlistImpl implements WishlistService {
     private final ProductMapper productMapper;
     private final UserRepository userRepository;
     private final ProductRepository productRepository;
-    private final FileMetadataRepository fileMetadataRepository;
+    private final FileMetadataCache fileMetadataCache;
+    private final CatalogVersionCache catalogVersionCache;
 
     @Transactional
     @Override
@@ -44,7 +47,7 @@ public class WishlistImpl implements WishlistService {
                     ProductResponse response = productMapper.toProductResponse(product);
                     Boolean isInWishList = wishlistRepository.existsByProductAndUser(product, user);
                     response.setInWishlist(isInWishList);
-                    FileMetadata fileMetadata = fileMetadataRepository.findByUuid(UUID.fromString(product.getThumbnail()))
+                    FileMetadata fileMetadata = fileMetadataCache.findByUuid(UUID.fromString(product.getThumbnail()))
                             .orElseThrow(() -> new AppException(HttpStatus.NOT_FOUND,
                                     "Ảnh đại diện không tồn tại", product.getThumbnail()));
                     response.setThumbnailUrl(fileMetadata.getUrl());
@@ -77,6 +80,7 @@ public class WishlistImpl implements WishlistService {
         product.setNumberOfLikes(product.getNumberOfLikes() + 1);
         productRepository.save(product);
         wishlistRepository.save(wishlist);
+        catalogVersionCache.bump(CatalogAreaEnum.PRODUCT);
 
         return ApiResponse.buildResponse(HttpStatus.CREATED.value(),
                 "Thêm sản phẩm vào danh sách yêu thích thành công", null);
@@ -100,6 +104,7 @@ public class WishlistImpl implements WishlistService {
 
         productRepository.save(product);
         wishlistRepository.delete(wishlist);
+        catalogVersionCache.bump(CatalogAreaEnum.PRODUCT);
         return ApiResponse.buildResponse(HttpStatus.OK.value(),
                 "Xóa sản phẩm khỏi danh sách yêu thích thành công", null);
     }
@@ -127,6 +132,7 @@ public class WishlistImpl implements WishlistService {
         }).toList());
 
         wishlistRepository.deleteAll(wishlists);
+        catalogVersionCache.bump(CatalogAreaEnum.PRODUCT);
 
         return ApiResponse.buildResponse(
                 HttpStatus.OK.value(),
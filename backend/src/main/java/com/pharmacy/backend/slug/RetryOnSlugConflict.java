@@ -0,0 +1,13 @@
+package com.pharmacy.backend.slug;
+
+import java.lang.annotation.*;
+
+/**
+ * Re-runs the whole method when the slug unique key is violated. The slug must be flushed
+ * before any side effect that a rollback does not undo, such as uploads or storage deletes.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RetryOnSlugConflict {
+}
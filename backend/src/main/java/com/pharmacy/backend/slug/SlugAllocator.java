@@ -0,0 +1,25 @@
+package com.pharmacy.backend.slug;
+
+import com.pharmacy.backend.exception.AppException;
+import com.pharmacy.backend.utils.SlugUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.function.Function;
+
+@Component
+public class SlugAllocator {
+
+    public String allocate(String source, String currentSlug, Function<String, Collection<String>> slugFamily) {
+        String baseSlug = SlugUtils.generateSlug(source);
+        if (baseSlug == null || baseSlug.isEmpty()) {
+            throw new AppException(HttpStatus.BAD_REQUEST, "Không thể tạo slug từ tên: " + source, "INVALID_SLUG");
+        }
+        if (SlugUtils.belongsTo(currentSlug, baseSlug)) {
+            return currentSlug;
+        }
+        return SlugUtils.nextAvailable(baseSlug, new HashSet<>(slugFamily.apply(baseSlug)));
+    }
+}
@@ -0,0 +1,46 @@
+package com.pharmacy.backend.slug;
+
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@Slf4j
+public class SlugConflictRetryAspect {
+    static final String SLUG_KEY_SUFFIX = "_slug";
+
+    @Value("${slug.max-attempts:3}")
+    private int maxAttempts;
+
+    @Around("@annotation(com.pharmacy.backend.slug.RetryOnSlugConflict)")
+    public Object retry(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return joinPoint.proceed();
+        }
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return joinPoint.proceed();
+            } catch (DataIntegrityViolationException e) {
+                if (attempt >= maxAttempts || !isSlugConflict(e)) {
+                    throw e;
+                }
+                log.debug("Slug conflict in {}, retrying (attempt {})", joinPoint.getSignature().toShortString(), attempt);
+            }
+        }
+    }
+
+    private boolean isSlugConflict(DataIntegrityViolationException e) {
+        String message = e.getMostSpecificCause().getMessage();
+        return message != null && message.contains(SLUG_KEY_SUFFIX);
+    }
+}
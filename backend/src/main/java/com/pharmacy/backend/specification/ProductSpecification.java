@@ -2,20 +2,14 @@ package com.pharmacy.backend.specification;
 
 import com.pharmacy.backend.entity.Category;
 import com.pharmacy.backend.entity.Product;
+import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.Join;
 import jakarta.persistence.criteria.JoinType;
 import org.springframework.data.jpa.domain.Specification;
 
-public class ProductSpecification {
+import java.util.List;
 
-    public static Specification<Product> hasTitle(String title) {
-        return (root, query, criteriaBuilder) -> {
-            if (title == null || title.isEmpty()) {
-                return criteriaBuilder.conjunction();
-            }
-            return criteriaBuilder.like(criteriaBuilder.lower(root.get("title")), "%" + title.toLowerCase() + "%");
-        };
-    }
+public class ProductSpecification {
 
     public static Specification<Product> hasPriceRange(Long priceFrom, Long priceTo) {
         return (root, query, criteriaBuilder) -> {
@@ -61,4 +55,22 @@ public class ProductSpecification {
         };
     }
 
+    public static Specification<Product> hasIdInRankOrder(List<Long> rankedIds) {
+        return (root, query, criteriaBuilder) -> {
+            if (rankedIds == null) {
+                return criteriaBuilder.conjunction();
+            }
+            if (rankedIds.isEmpty()) {
+                return criteriaBuilder.disjunction();
+            }
+            if (query.getResultType() != Long.class && query.getOrderList().isEmpty()) {
+                CriteriaBuilder.SimpleCase<Long, Integer> rank = criteriaBuilder.selectCase(root.<Long>get("id"));
+                for (int i = 0; i < rankedIds.size(); i++) {
+                    rank.when(rankedIds.get(i), i);
+                }
+                query.orderBy(criteriaBuilder.asc(rank.otherwise(rankedIds.size())));
+            }
+            return root.<Long>get("id").in(rankedIds);
+        };
+    }
 }
@@ -0,0 +1,79 @@
+package com.pharmacy.backend.storage;
+
+import com.cloudinary.Cloudinary;
+import com.cloudinary.Transformation;
+import com.cloudinary.utils.ObjectUtils;
+import com.pharmacy.backend.entity.FileMetadata;
+import com.pharmacy.backend.exception.AppException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "file.storage.type", havingValue = "cloudinary", matchIfMissing = true)
+public class CloudinaryStorageBackend implements StorageBackend {
+    private final Cloudinary cloudinary;
+
+    @Value("${file.variants.widths:320,640,1024}")
+    private List<Integer> variantWidths;
+
+    @Override
+    public String store(FileMetadata fileMetadata, Path source) throws IOException {
+        Map<String, Object> options = ObjectUtils.asMap(
+                "folder", fileMetadata.getFileType(),
+                "public_id", fileMetadata.getStoredFileName(),
+                "overwrite", true,
+                "resource_type", "auto"
+        );
+
+        Map uploadResult = cloudinary.uploader().upload(source.toFile(), options);
+        return (String) uploadResult.get("secure_url");
+    }
+
+    @Override
+    public void delete(FileMetadata fileMetadata) throws IOException {
+        String publicIdWithFolder = fileMetadata.getFileType() + "/" + fileMetadata.getStoredFileName();
+        Map<String, Object> result = cloudinary.uploader().destroy(publicIdWithFolder, ObjectUtils.asMap(
+                "resource_type", "image"
+        ));
+
+        String destroyResult = (String) result.get("result");
+        if (!"ok".equals(destroyResult) && !"not found".equals(destroyResult)) {
+            throw new AppException(HttpStatus.INTERNAL_SERVER_ERROR, "Xóa thất bại", "Cloudinary trả về: " + destroyResult);
+        }
+    }
+
+    @Override
+    public Optional<Resource> load(FileMetadata fileMetadata) {
+        return Optional.empty();
+    }
+
+    @Override
+    public Map<String, String> variantUrls(FileMetadata fileMetadata) {
+        if (fileMetadata.getContentType() == null || !fileMetadata.getContentType().startsWith("image/")) {
+            return Map.of();
+        }
+
+        String publicIdWithFolder = fileMetadata.getFileType() + "/" + fileMetadata.getStoredFileName();
+        Map<String, String> variants = new LinkedHashMap<>();
+        for (Integer width : variantWidths) {
+            String url = cloudinary.url()
+                    .secure(true)
+                    .transformation(new Transformation().width(width).crop("limit").quality("auto").fetchFormat("webp"))
+                    .generate(publicIdWithFolder);
+            variants.put(width + "w", url);
+        }
+        return variants;
+    }
+}
@@ -0,0 +1,60 @@
+package com.pharmacy.backend.storage;
+
+import com.pharmacy.backend.config.AppConfig;
+import com.pharmacy.backend.config.FileStorageProperties;
+import com.pharmacy.backend.entity.FileMetadata;
+import com.pharmacy.backend.exception.AppException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.Optional;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "file.storage.type", havingValue = "local")
+public class LocalStorageBackend implements StorageBackend {
+    private final FileStorageProperties fileStorageProperties;
+
+    @Override
+    public String store(FileMetadata fileMetadata, Path source) throws IOException {
+        Path target = resolve(fileMetadata);
+        Files.createDirectories(target.getParent());
+        Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        return AppConfig.getFileDownloadUrl(fileMetadata.getUuid().toString());
+    }
+
+    @Override
+    public void delete(FileMetadata fileMetadata) throws IOException {
+        Files.deleteIfExists(resolve(fileMetadata));
+    }
+
+    @Override
+    public Optional<Resource> load(FileMetadata fileMetadata) {
+        Path path = resolve(fileMetadata);
+        if (!Files.isReadable(path)) {
+            throw new AppException(HttpStatus.NOT_FOUND, "Không tìm thấy tệp tin", "File not found");
+        }
+        return Optional.of(new FileSystemResource(path));
+    }
+
+    @Override
+    public Map<String, String> variantUrls(FileMetadata fileMetadata) {
+        return Map.of();
+    }
+
+    private Path resolve(FileMetadata fileMetadata) {
+        return Paths.get(fileStorageProperties.getUploadDir())
+                .resolve(fileMetadata.getFileType())
+                .resolve(fileMetadata.getStoredFileName());
+    }
+}
@@ -0,0 +1,19 @@
+package com.pharmacy.backend.storage;
+
+import com.pharmacy.backend.entity.FileMetadata;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Optional;
+
+public interface StorageBackend {
+    String store(FileMetadata fileMetadata, Path source) throws IOException;
+
+    void delete(FileMetadata fileMetadata) throws IOException;
+
+    Optional<Resource> load(FileMetadata fileMetadata);
+
+    Map<String, String> variantUrls(FileMetadata fileMetadata);
+}
@@ -0,0 +1,87 @@
+package com.pharmacy.backend.utils;
+
+import com.pharmacy.backend.exception.AppException;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.StringJoiner;
+
+public class CursorUtils {
+    private static final String ENTRY_SEPARATOR = "|";
+    private static final String KEY_SEPARATOR = "=";
+    private static final String TYPE_SEPARATOR = ":";
+    private static final String SORT_KEY = "@sort";
+
+    public static String encode(ScrollPosition position, Sort sort) {
+        if (!(position instanceof KeysetScrollPosition keyset) || keyset.isInitial()) {
+            return null;
+        }
+
+        StringJoiner joiner = new StringJoiner(ENTRY_SEPARATOR);
+        joiner.add(SORT_KEY + KEY_SEPARATOR + signature(sort));
+        keyset.getKeys().forEach((key, value) -> joiner.add(key + KEY_SEPARATOR + encodeValue(value)));
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(joiner.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static KeysetScrollPosition decode(String cursor, Sort sort) {
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+
+        String sortSignature = null;
+        Map<String, Object> keys = new LinkedHashMap<>();
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            for (String entry : raw.split("\\" + ENTRY_SEPARATOR)) {
+                int keyEnd = entry.indexOf(KEY_SEPARATOR);
+                String key = entry.substring(0, keyEnd);
+                if (SORT_KEY.equals(key)) {
+                    sortSignature = entry.substring(keyEnd + 1);
+                } else {
+                    keys.put(key, decodeValue(entry.substring(keyEnd + 1)));
+                }
+            }
+        } catch (RuntimeException e) {
+            throw new AppException(HttpStatus.BAD_REQUEST, "Con trỏ phân trang không hợp lệ", "INVALID_CURSOR");
+        }
+
+        if (!signature(sort).equals(sortSignature)) {
+            throw new AppException(HttpStatus.BAD_REQUEST, "Con trỏ phân trang không khớp với kiểu sắp xếp", "INVALID_CURSOR");
+        }
+        return ScrollPosition.forward(keys);
+    }
+
+    private static String signature(Sort sort) {
+        StringJoiner joiner = new StringJoiner(",");
+        sort.forEach(order -> joiner.add(order.getProperty() + "." + order.getDirection()));
+        return joiner.toString();
+    }
+
+    private static String encodeValue(Object value) {
+        if (value instanceof LocalDateTime dateTime) {
+            return "t" + TYPE_SEPARATOR + dateTime;
+        }
+        if (value instanceof Number number) {
+            return "l" + TYPE_SEPARATOR + number.longValue();
+        }
+        return "s" + TYPE_SEPARATOR + value;
+    }
+
+    private static Object decodeValue(String value) {
+        String type = value.substring(0, value.indexOf(TYPE_SEPARATOR));
+        String content = value.substring(value.indexOf(TYPE_SEPARATOR) + 1);
+        return switch (type) {
+            case "t" -> LocalDateTime.parse(content);
+            case "l" -> Long.parseLong(content);
+            default -> content;
+        };
+    }
+}
@@ -1,16 +1,54 @@
 package com.pharmacy.backend.utils;
 
+import java.text.Normalizer;
+import java.util.Set;
+import java.util.regex.Pattern;
+
 public class SlugUtils {
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{InCombiningDiacriticalMarks}+");
+    private static final Pattern INVALID_CHARACTERS = Pattern.compile("[^a-z0-9\\s-]");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern REPEATED_HYPHENS = Pattern.compile("-{2,}");
+    private static final Pattern EDGE_HYPHENS = Pattern.compile("^-|-$");
+
     public static String generateSlug(String title) {
         if (title == null || title.isEmpty()) {
             return null;
         }
 
-        return title.trim().toLowerCase()
-                .replaceAll("\\p{InCombiningDiacriticalMarks}+", "")
-                .replaceAll("[^a-z0-9\\s-]", "")
-                .replaceAll("\\s+", "-")
-                .replaceAll("-{2,}", "-")
-                .replaceAll("^-|-$", "");
+        String slug = INVALID_CHARACTERS.matcher(normalize(title)).replaceAll("");
+        slug = WHITESPACE.matcher(slug).replaceAll("-");
+        slug = REPEATED_HYPHENS.matcher(slug).replaceAll("-");
+        return EDGE_HYPHENS.matcher(slug).replaceAll("");
+    }
+
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+
+        return COMBINING_MARKS.matcher(Normalizer.normalize(text.trim().toLowerCase(), Normalizer.Form.NFD))
+                .replaceAll("")
+                .replace('đ', 'd');
+    }
+
+    public static String nextAvailable(String baseSlug, Set<String> takenSlugs) {
+        String slug = baseSlug;
+        int cnt = 1;
+        while (takenSlugs.contains(slug)) {
+            slug = baseSlug + "-" + cnt++;
+        }
+        return slug;
+    }
+
+    public static boolean belongsTo(String slug, String baseSlug) {
+        if (slug == null || !slug.startsWith(baseSlug)) {
+            return false;
+        }
+        if (slug.length() == baseSlug.length()) {
+            return true;
+        }
+        String suffix = slug.substring(baseSlug.length());
+        return suffix.length() > 1 && suffix.charAt(0) == '-' && suffix.chars().skip(1).allMatch(Character::isDigit);
     }
 }
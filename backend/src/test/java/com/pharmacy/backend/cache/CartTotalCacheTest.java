@@ -0,0 +1,38 @@
+package com.pharmacy.backend.cache;
+
+import com.pharmacy.backend.repository.CartItemRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CartTotalCacheTest {
+    private static final Long USER_ID = 1L;
+
+    private CartItemRepository cartItemRepository;
+    private CartTotalCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cartItemRepository = mock(CartItemRepository.class);
+        cache = new CartTotalCache(cartItemRepository);
+        ReflectionTestUtils.setField(cache, "maxSize", 100);
+        ReflectionTestUtils.setField(cache, "itemCountCacheEnabled", true);
+    }
+
+    @Test
+    void invalidateAllDropsCachedTotalsAndItemCounts() {
+        when(cartItemRepository.sumSelectedTotalByUserId(USER_ID)).thenReturn(10_000L, 20_000L);
+        when(cartItemRepository.sumQuantityByUserId(USER_ID)).thenReturn(1L, 2L);
+        assertThat(cache.getSelectedTotal(USER_ID)).isEqualTo(10_000L);
+        assertThat(cache.getItemCount(USER_ID)).isEqualTo(1L);
+
+        cache.invalidateAll();
+
+        assertThat(cache.getSelectedTotal(USER_ID)).isEqualTo(20_000L);
+        assertThat(cache.getItemCount(USER_ID)).isEqualTo(2L);
+    }
+}
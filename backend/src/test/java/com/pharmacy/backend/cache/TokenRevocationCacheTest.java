@@ -0,0 +1,80 @@
+package com.pharmacy.backend.cache;
+
+import com.pharmacy.backend.entity.User;
+import com.pharmacy.backend.repository.InvalidatedTokenRepository;
+import com.pharmacy.backend.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TokenRevocationCacheTest {
+    private static final Long USER_ID = 1L;
+
+    private UserRepository userRepository;
+    private TokenRevocationCache cache;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        cache = new TokenRevocationCache(mock(InvalidatedTokenRepository.class), userRepository);
+        ReflectionTestUtils.setField(cache, "maxTokenVersions", 100);
+    }
+
+    @Test
+    void cachesLoadedVersion() {
+        when(userRepository.findById(USER_ID)).thenReturn(Optional.of(user(1)));
+
+        assertThat(cache.getTokenVersion(USER_ID)).contains(1);
+        assertThat(cache.getTokenVersion(USER_ID)).contains(1);
+
+        verify(userRepository, times(1)).findById(USER_ID);
+    }
+
+    @Test
+    void evictionDuringLoadDiscardsStaleVersion() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch evicted = new CountDownLatch(1);
+        when(userRepository.findById(USER_ID))
+                .thenAnswer(invocation -> {
+                    loading.countDown();
+                    assertThat(evicted.await(5, TimeUnit.SECONDS)).isTrue();
+                    return Optional.of(user(1));
+                })
+                .thenReturn(Optional.of(user(2)));
+
+        ExecutorService loader = Executors.newSingleThreadExecutor();
+        try {
+            Future<Optional<Integer>> stale = loader.submit(() -> cache.getTokenVersion(USER_ID));
+            assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+            cache.evictTokenVersion(USER_ID);
+            evicted.countDown();
+
+            assertThat(stale.get(5, TimeUnit.SECONDS)).contains(1);
+        } finally {
+            loader.shutdownNow();
+        }
+
+        assertThat(cache.getTokenVersion(USER_ID)).contains(2);
+        assertThat(cache.getTokenVersion(USER_ID)).contains(2);
+        verify(userRepository, times(2)).findById(USER_ID);
+    }
+
+    private static User user(int tokenVersion) {
+        User user = new User();
+        user.setTokenVersion(tokenVersion);
+        return user;
+    }
+}
@@ -0,0 +1,89 @@
+package com.pharmacy.backend.datasource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReplicaLagMonitorTest {
+    private static final long MAX_LAG_SECONDS = 5;
+
+    private Statement statement;
+    private ReplicaLagMonitor monitor;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        DataSource dataSource = mock(DataSource.class);
+        Connection connection = mock(Connection.class);
+        statement = mock(Statement.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.createStatement()).thenReturn(statement);
+        monitor = new ReplicaLagMonitor(dataSource, MAX_LAG_SECONDS);
+    }
+
+    @Test
+    void replicaIsUnusableUntilFirstSuccessfulCheck() throws SQLException {
+        assertThat(monitor.isReplicaUsable()).isFalse();
+
+        replicaStatus(2L);
+        monitor.checkLag();
+
+        assertThat(monitor.isReplicaUsable()).isTrue();
+    }
+
+    @Test
+    void emptyReplicaStatusMarksReplicaUnusable() throws SQLException {
+        replicaStatus(0L);
+        monitor.checkLag();
+        emptyReplicaStatus();
+
+        monitor.checkLag();
+
+        assertThat(monitor.isReplicaUsable()).isFalse();
+    }
+
+    @Test
+    void lagAboveThresholdOrUnknownMarksReplicaUnusable() throws SQLException {
+        replicaStatus(MAX_LAG_SECONDS + 1);
+        monitor.checkLag();
+        assertThat(monitor.isReplicaUsable()).isFalse();
+
+        replicaStatus(null);
+        monitor.checkLag();
+        assertThat(monitor.isReplicaUsable()).isFalse();
+    }
+
+    @Test
+    void failedCheckMarksReplicaUnusable() throws SQLException {
+        replicaStatus(0L);
+        monitor.checkLag();
+        when(statement.executeQuery(anyString())).thenThrow(new SQLException("Connection refused"));
+
+        monitor.checkLag();
+
+        assertThat(monitor.isReplicaUsable()).isFalse();
+    }
+
+    private void replicaStatus(Long secondsBehindSource) throws SQLException {
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.next()).thenReturn(true, false);
+        when(resultSet.getLong("Seconds_Behind_Source")).thenReturn(secondsBehindSource != null ? secondsBehindSource : 0L);
+        when(resultSet.wasNull()).thenReturn(secondsBehindSource == null);
+        when(statement.executeQuery(anyString())).thenReturn(resultSet);
+    }
+
+    private void emptyReplicaStatus() throws SQLException {
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.next()).thenReturn(false);
+        when(statement.executeQuery(anyString())).thenReturn(resultSet);
+    }
+}
@@ -0,0 +1,109 @@
+package com.pharmacy.backend.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReplicaRoutingDataSourceTest {
+    private EmbeddedDatabase primary;
+    private EmbeddedDatabase replica;
+    private ReplicaLagMonitor replicaLagMonitor;
+    private JdbcTemplate jdbcTemplate;
+    private DataSourceTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        primary = database(ReplicaRoutingDataSource.PRIMARY);
+        replica = database(ReplicaRoutingDataSource.REPLICA);
+        replicaLagMonitor = mock(ReplicaLagMonitor.class);
+        when(replicaLagMonitor.isReplicaUsable()).thenReturn(true);
+
+        ReplicaRoutingDataSource routingDataSource = new ReplicaRoutingDataSource(replicaLagMonitor);
+        routingDataSource.setTargetDataSources(Map.of(
+                ReplicaRoutingDataSource.PRIMARY, primary,
+                ReplicaRoutingDataSource.REPLICA, replica
+        ));
+        routingDataSource.setDefaultTargetDataSource(primary);
+        routingDataSource.afterPropertiesSet();
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionManager = new DataSourceTransactionManager(dataSource);
+    }
+
+    @AfterEach
+    void tearDown() {
+        primary.shutdown();
+        replica.shutdown();
+    }
+
+    @Test
+    void readOnlyTransactionUsesReplica() {
+        assertThat(currentNode(true)).isEqualTo(ReplicaRoutingDataSource.REPLICA);
+    }
+
+    @Test
+    void readWriteTransactionUsesPrimary() {
+        assertThat(currentNode(false)).isEqualTo(ReplicaRoutingDataSource.PRIMARY);
+    }
+
+    @Test
+    void readOnlyTransactionFallsBackToPrimaryWhenReplicaLags() {
+        when(replicaLagMonitor.isReplicaUsable()).thenReturn(false);
+
+        assertThat(currentNode(true)).isEqualTo(ReplicaRoutingDataSource.PRIMARY);
+    }
+
+    @Test
+    void requiresNewReadWriteTransactionInsideReadOnlyOneUsesPrimary() {
+        TransactionTemplate readOnly = transaction(true, TransactionDefinition.PROPAGATION_REQUIRED);
+        TransactionTemplate primaryTransaction = transaction(false, TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        String nested = readOnly.execute(status -> {
+            assertThat(queryNode()).isEqualTo(ReplicaRoutingDataSource.REPLICA);
+            return primaryTransaction.execute(inner -> queryNode());
+        });
+
+        assertThat(nested).isEqualTo(ReplicaRoutingDataSource.PRIMARY);
+    }
+
+    private String currentNode(boolean readOnly) {
+        return transaction(readOnly, TransactionDefinition.PROPAGATION_REQUIRED).execute(status -> queryNode());
+    }
+
+    private String queryNode() {
+        return jdbcTemplate.queryForObject("SELECT name FROM node", String.class);
+    }
+
+    private TransactionTemplate transaction(boolean readOnly, int propagation) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(readOnly);
+        template.setPropagationBehavior(propagation);
+        return template;
+    }
+
+    private static EmbeddedDatabase database(String name) {
+        EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("CREATE TABLE node (name VARCHAR(16))");
+        jdbcTemplate.update("INSERT INTO node (name) VALUES (?)", name);
+        return database;
+    }
+}
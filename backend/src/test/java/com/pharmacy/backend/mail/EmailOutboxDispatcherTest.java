@@ -0,0 +1,186 @@
+package com.pharmacy.backend.mail;
+
+import com.icegreen.greenmail.configuration.GreenMailConfiguration;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import com.pharmacy.backend.entity.EmailOutbox;
+import com.pharmacy.backend.enums.EmailStatusEnum;
+import com.pharmacy.backend.repository.EmailOutboxRepository;
+import jakarta.mail.Message;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class EmailOutboxDispatcherTest {
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP)
+            .withConfiguration(GreenMailConfiguration.aConfig().withDisabledAuthentication());
+
+    @Autowired
+    private EmailOutboxDispatcher dispatcher;
+    @Autowired
+    private EmailOutboxRepository emailOutboxRepository;
+    @Autowired
+    private JavaMailSender mailSender;
+
+    @Test
+    void pollDeliversDueEmailAndMarksItSent() {
+        String domain = domain();
+        EmailOutbox email = enqueue("buyer@" + domain, 0);
+
+        dispatcher.poll();
+
+        await().atMost(Duration.ofSeconds(10))
+                .until(() -> status(email) == EmailStatusEnum.SENT);
+        MimeMessage[] received = greenMail.getReceivedMessagesForDomain(domain);
+        assertThat(received).hasSize(1);
+        assertThat(subject(received[0])).isEqualTo(email.getSubject());
+        EmailOutbox sent = emailOutboxRepository.findById(email.getId()).orElseThrow();
+        assertThat(sent.getAttempts()).isEqualTo(1);
+        assertThat(sent.getSentAt()).isNotNull();
+        assertThat(sent.getLastError()).isNull();
+    }
+
+    @Test
+    void failedSendIsReleasedWithBackoffAndGivenUpAfterMaxAttempts() {
+        EmailOutbox retried = enqueue("not an address@@", 0);
+        EmailOutbox exhausted = enqueue("still not an address@@", 4);
+        LocalDateTime before = LocalDateTime.now();
+
+        dispatcher.poll();
+
+        await().atMost(Duration.ofSeconds(10))
+                .until(() -> status(retried) == EmailStatusEnum.PENDING && status(exhausted) == EmailStatusEnum.FAILED);
+        EmailOutbox pending = emailOutboxRepository.findById(retried.getId()).orElseThrow();
+        assertThat(pending.getAttempts()).isEqualTo(1);
+        assertThat(pending.getLastError()).isNotBlank();
+        assertThat(pending.getNextAttemptAt()).isAfter(before.plusSeconds(25));
+        EmailOutbox failed = emailOutboxRepository.findById(exhausted.getId()).orElseThrow();
+        assertThat(failed.getAttempts()).isEqualTo(5);
+        assertThat(failed.getSentAt()).isNull();
+    }
+
+    @Test
+    void concurrentDispatchersSendEachEmailAtMostOnce() {
+        String domain = domain();
+        List<EmailOutbox> emails = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            emails.add(enqueue("buyer" + i + "@" + domain, 0));
+        }
+        List<EmailOutboxDispatcher> dispatchers = List.of(dispatcher, newDispatcher(), newDispatcher());
+
+        ExecutorService pollers = Executors.newFixedThreadPool(dispatchers.size());
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            for (EmailOutboxDispatcher instance : dispatchers) {
+                pollers.execute(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    instance.poll();
+                });
+            }
+            start.countDown();
+
+            await().atMost(Duration.ofSeconds(20))
+                    .until(() -> emails.stream().allMatch(email -> status(email) == EmailStatusEnum.SENT));
+        } finally {
+            pollers.shutdownNow();
+            dispatchers.stream().skip(1).forEach(EmailOutboxDispatcher::stop);
+        }
+
+        MimeMessage[] received = greenMail.getReceivedMessagesForDomain(domain);
+        assertThat(received).hasSize(emails.size());
+        assertThat(Arrays.stream(received)
+                .collect(Collectors.groupingBy(EmailOutboxDispatcherTest::recipient, Collectors.counting())))
+                .hasSize(emails.size())
+                .allSatisfy((recipient, count) -> assertThat(count).isEqualTo(1L));
+        assertThat(emails).allSatisfy(email ->
+                assertThat(emailOutboxRepository.findById(email.getId()).orElseThrow().getAttempts()).isEqualTo(1));
+    }
+
+    @Test
+    void rowIsClaimedOnlyOnce() {
+        EmailOutbox email = enqueue("buyer@" + domain(), 0);
+        List<EmailStatusEnum> claimable = List.of(EmailStatusEnum.PENDING, EmailStatusEnum.SENDING);
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime leaseUntil = now.plusMinutes(10);
+
+        assertThat(emailOutboxRepository.claim(email.getId(), claimable, now, leaseUntil)).isEqualTo(1);
+        assertThat(emailOutboxRepository.claim(email.getId(), claimable, now, leaseUntil)).isZero();
+        assertThat(emailOutboxRepository.claim(email.getId(), claimable, leaseUntil.plusSeconds(1),
+                leaseUntil.plusMinutes(10))).isEqualTo(1);
+    }
+
+    private EmailOutboxDispatcher newDispatcher() {
+        EmailOutboxDispatcher instance = new EmailOutboxDispatcher(emailOutboxRepository, mailSender);
+        for (String field : List.of("fromEmail", "workers", "batchSize", "maxAttempts", "backoffMs", "leaseMs")) {
+            ReflectionTestUtils.setField(instance, field, ReflectionTestUtils.getField(dispatcher, field));
+        }
+        instance.start();
+        return instance;
+    }
+
+    private EmailOutbox enqueue(String recipient, int attempts) {
+        return emailOutboxRepository.save(EmailOutbox.builder()
+                .recipient(recipient)
+                .subject("Order " + UUID.randomUUID())
+                .body("<p>Hello</p>")
+                .status(EmailStatusEnum.PENDING)
+                .attempts(attempts)
+                .nextAttemptAt(LocalDateTime.now().minusSeconds(1))
+                .build());
+    }
+
+    private EmailStatusEnum status(EmailOutbox email) {
+        return emailOutboxRepository.findById(email.getId()).map(EmailOutbox::getStatus).orElseThrow();
+    }
+
+    private static String domain() {
+        return UUID.randomUUID() + ".test";
+    }
+
+    private static String subject(MimeMessage message) {
+        return unchecked(message, MimeMessage::getSubject);
+    }
+
+    private static String recipient(MimeMessage message) {
+        return unchecked(message, m -> m.getRecipients(Message.RecipientType.TO)[0].toString());
+    }
+
+    private static String unchecked(MimeMessage message, MessageReader reader) {
+        try {
+            return reader.read(message);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private interface MessageReader {
+        String read(MimeMessage message) throws Exception;
+    }
+}
@@ -0,0 +1,111 @@
+package com.pharmacy.backend.service;
+
+import com.pharmacy.backend.dto.response.CartResponse;
+import com.pharmacy.backend.entity.Brand;
+import com.pharmacy.backend.entity.Cart;
+import com.pharmacy.backend.entity.CartItem;
+import com.pharmacy.backend.entity.Product;
+import com.pharmacy.backend.entity.User;
+import com.pharmacy.backend.repository.CartItemRepository;
+import com.pharmacy.backend.repository.CartRepository;
+import com.pharmacy.backend.repository.UserRepository;
+import com.pharmacy.backend.support.StatementCounter;
+import com.pharmacy.backend.support.TestFixtures;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class CartStatementCountTest {
+    private static final long MAX_STATEMENTS = 3;
+
+    @Autowired
+    private CartService cartService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private CartRepository cartRepository;
+    @Autowired
+    private CartItemRepository cartItemRepository;
+    @Autowired
+    private TestFixtures fixtures;
+
+    @AfterEach
+    void clearAuthentication() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void getCartRunsTheSameStatementsWhateverTheCartSize() {
+        Long smallCart = createCart(1);
+        Long largeCart = createCart(25);
+
+        StatementCounter.Result<CartResponse> small = measureAs(smallCart, () -> cartService.getCart().getData());
+        StatementCounter.Result<CartResponse> large = measureAs(largeCart, () -> cartService.getCart().getData());
+
+        assertThat(small.value().getCartItems()).hasSize(1);
+        assertThat(large.value().getCartItems()).hasSize(25);
+        assertThat(large.statements()).isEqualTo(small.statements());
+        assertThat(large.statements()).isBetween(1L, MAX_STATEMENTS);
+    }
+
+    @Test
+    void getCartItemsForCheckoutRunsTheSameStatementsWhateverTheCartSize() {
+        Long smallCart = createCart(1);
+        Long largeCart = createCart(25);
+
+        StatementCounter.Result<CartResponse> small = measureAs(smallCart,
+                () -> cartService.getCartItemsForCheckout().getData().getFirst());
+        StatementCounter.Result<CartResponse> large = measureAs(largeCart,
+                () -> cartService.getCartItemsForCheckout().getData().getFirst());
+
+        assertThat(small.value().getCartItems()).hasSize(1);
+        assertThat(large.value().getCartItems()).hasSize(25);
+        assertThat(large.statements()).isEqualTo(small.statements());
+        assertThat(large.statements()).isBetween(1L, MAX_STATEMENTS);
+    }
+
+    private StatementCounter.Result<CartResponse> measureAs(Long userId, Supplier<CartResponse> action) {
+        Jwt jwt = Jwt.withTokenValue("test-token")
+                .header("alg", "none")
+                .claim("id", userId)
+                .build();
+        SecurityContextHolder.getContext().setAuthentication(new JwtAuthenticationToken(jwt));
+        return StatementCounter.measure(action);
+    }
+
+    private Long createCart(int itemCount) {
+        String suffix = UUID.randomUUID().toString();
+        User user = new User();
+        user.setEmail(suffix + "@pharmacy.test");
+        user.setUsername("Buyer " + suffix);
+        user.setPassword("password");
+        user = userRepository.save(user);
+        Cart cart = cartRepository.save(new Cart(user));
+
+        Brand brand = fixtures.brand();
+        for (int i = 0; i < itemCount; i++) {
+            Product product = fixtures.product(brand, List.of());
+            CartItem item = new CartItem();
+            item.setCart(cart);
+            item.setProduct(product);
+            item.setQuantity(1L);
+            item.setPriceAtAddition(10_000L);
+            item.setSelected(true);
+            cartItemRepository.save(item);
+        }
+        return user.getId();
+    }
+}
@@ -0,0 +1,213 @@
+package com.pharmacy.backend.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares heap use of the old byte[] upload path with the spooled path for 20 concurrent 10MB uploads.
+ * Uploads are backed by temp files the way Tomcat spools multipart parts to disk.
+ * Run with {@code mvn test -Dtest.excludedGroups= -Dgroups=benchmark}.
+ */
+@Slf4j
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("test")
+class FileUploadBenchmarkTest {
+    private static final int UPLOADS = 20;
+    private static final int FILE_SIZE = 10 * 1024 * 1024;
+    private static final long MB = 1024 * 1024;
+
+    @Autowired
+    private FileMetadataService fileMetadataService;
+
+    @Value("${file.upload.dir}")
+    private String uploadDir;
+
+    private final List<Path> sources = new ArrayList<>();
+
+    @AfterEach
+    void cleanUp() throws IOException {
+        for (Path source : sources) {
+            Files.deleteIfExists(source);
+        }
+        FileSystemUtils.deleteRecursively(Paths.get(uploadDir));
+    }
+
+    @Test
+    void spooledUploadsUseLessHeapThanByteArrays() throws Exception {
+        Path byteArrayTarget = Files.createTempDirectory("byte-array-uploads-");
+        Usage byteArray = measure(file -> {
+            byte[] bytes = file.getBytes();
+            Files.write(byteArrayTarget.resolve(UUID.randomUUID().toString()), bytes);
+        });
+        FileSystemUtils.deleteRecursively(byteArrayTarget);
+
+        Usage spooled = measure(file -> fileMetadataService.storeFile(file, "PRODUCT"));
+
+        log.info("byte[]:  {}", byteArray);
+        log.info("spooled: {}", spooled);
+
+        assertThat(spooled.peakHeapGrowthBytes()).isLessThan(byteArray.peakHeapGrowthBytes() / 4);
+    }
+
+    private Usage measure(Upload upload) throws Exception {
+        List<MultipartFile> files = new ArrayList<>();
+        for (int i = 0; i < UPLOADS; i++) {
+            files.add(new DiskMultipartFile(createSource(i)));
+        }
+
+        System.gc();
+        List<MemoryPoolMXBean> heapPools = ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP)
+                .toList();
+        heapPools.forEach(MemoryPoolMXBean::resetPeakUsage);
+        long baseline = heapPools.stream().mapToLong(pool -> pool.getUsage().getUsed()).sum();
+        long gcCount = gcCount();
+        long gcMillis = gcMillis();
+
+        ExecutorService requests = Executors.newFixedThreadPool(UPLOADS);
+        CountDownLatch start = new CountDownLatch(1);
+        long elapsed;
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (MultipartFile file : files) {
+                results.add(requests.submit(() -> {
+                    start.await();
+                    upload.accept(file);
+                    return null;
+                }));
+            }
+            long begin = System.nanoTime();
+            start.countDown();
+            for (Future<?> result : results) {
+                result.get();
+            }
+            elapsed = System.nanoTime() - begin;
+        } finally {
+            requests.shutdown();
+        }
+
+        long peak = heapPools.stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum();
+        return new Usage(Math.max(peak - baseline, 0),
+                gcCount() - gcCount, gcMillis() - gcMillis, elapsed / 1_000_000);
+    }
+
+    private Path createSource(int seed) throws IOException {
+        Path source = Files.createTempFile("multipart-", ".bin");
+        sources.add(source);
+        byte[] chunk = new byte[64 * 1024];
+        Random random = new Random(seed);
+        try (OutputStream out = Files.newOutputStream(source)) {
+            for (int written = 0; written < FILE_SIZE; written += chunk.length) {
+                random.nextBytes(chunk);
+                out.write(chunk);
+            }
+        }
+        return source;
+    }
+
+    private static long gcCount() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream()
+                .mapToLong(GarbageCollectorMXBean::getCollectionCount)
+                .sum();
+    }
+
+    private static long gcMillis() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream()
+                .mapToLong(GarbageCollectorMXBean::getCollectionTime)
+                .sum();
+    }
+
+    private interface Upload {
+        void accept(MultipartFile file) throws Exception;
+    }
+
+    private record Usage(long peakHeapGrowthBytes, long gcCount, long gcMillis, long elapsedMillis) {
+        @Override
+        public String toString() {
+            return String.format("peak heap growth %d MB, %d GCs (%d ms), %d ms wall",
+                    peakHeapGrowthBytes / MB, gcCount, gcMillis, elapsedMillis);
+        }
+    }
+
+    private static final class DiskMultipartFile implements MultipartFile {
+        private final Path path;
+        private final long size;
+
+        private DiskMultipartFile(Path path) throws IOException {
+            this.path = path;
+            this.size = Files.size(path);
+        }
+
+        @Override
+        public String getName() {
+            return "file";
+        }
+
+        @Override
+        public String getOriginalFilename() {
+            return "upload.bin";
+        }
+
+        @Override
+        public String getContentType() {
+            return "application/octet-stream";
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return size == 0;
+        }
+
+        @Override
+        public long getSize() {
+            return size;
+        }
+
+        @Override
+        public byte[] getBytes() throws IOException {
+            return Files.readAllBytes(path);
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return Files.newInputStream(path);
+        }
+
+        @Override
+        public void transferTo(File dest) throws IOException {
+            Files.move(path, dest.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
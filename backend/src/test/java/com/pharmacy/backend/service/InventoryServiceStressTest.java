@@ -0,0 +1,119 @@
+package com.pharmacy.backend.service;
+
+import com.pharmacy.backend.cache.CatalogVersionCache;
+import com.pharmacy.backend.entity.Product;
+import com.pharmacy.backend.enums.CatalogAreaEnum;
+import com.pharmacy.backend.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class InventoryServiceStressTest {
+    private static final int BUYERS = 200;
+
+    @Autowired
+    private InventoryService inventoryService;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private CatalogVersionCache catalogVersionCache;
+
+    @Test
+    void concurrentBuyersNeverOversellSingleUnits() throws Exception {
+        Product product = createProduct(50);
+
+        int reserved = reserveConcurrently(product.getId(), 1);
+
+        assertThat(reserved).isEqualTo(50);
+        assertThat(productRepository.findById(product.getId()).orElseThrow().getQuantity()).isZero();
+    }
+
+    @Test
+    void concurrentBuyersNeverOversellMultipleUnits() throws Exception {
+        Product product = createProduct(101);
+
+        int reserved = reserveConcurrently(product.getId(), 2);
+
+        assertThat(reserved).isEqualTo(50);
+        assertThat(productRepository.findById(product.getId()).orElseThrow().getQuantity()).isEqualTo(1);
+    }
+
+    @Test
+    void reserveRefreshesProductAlreadyLoadedInTransaction() {
+        Product product = createProduct(10);
+
+        Long quantity = new TransactionTemplate(transactionManager).execute(status -> {
+            Product loaded = productRepository.findById(product.getId()).orElseThrow();
+            assertThat(inventoryService.reserve(Map.of(loaded.getId(), 3L))).isEmpty();
+            return loaded.getQuantity();
+        });
+
+        assertThat(quantity).isEqualTo(7);
+    }
+
+    @Test
+    void sellingOutInvalidatesProductEtag() {
+        Product product = createProduct(3);
+        List<CatalogAreaEnum> areas = List.of(CatalogAreaEnum.PRODUCT);
+
+        String inStock = catalogVersionCache.etag(areas, null);
+        assertThat(inventoryService.reserve(Map.of(product.getId(), 2L))).isEmpty();
+        assertThat(catalogVersionCache.etag(areas, null)).isEqualTo(inStock);
+
+        assertThat(inventoryService.reserve(Map.of(product.getId(), 1L))).isEmpty();
+        assertThat(catalogVersionCache.etag(areas, null)).isNotEqualTo(inStock);
+    }
+
+    private int reserveConcurrently(Long productId, long quantity) throws Exception {
+        ExecutorService buyers = Executors.newFixedThreadPool(32);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < BUYERS; i++) {
+                results.add(buyers.submit(() -> {
+                    start.await();
+                    return inventoryService.reserve(Map.of(productId, quantity)).isEmpty();
+                }));
+            }
+            start.countDown();
+
+            int reserved = 0;
+            for (Future<Boolean> result : results) {
+                if (result.get()) {
+                    reserved++;
+                }
+            }
+            return reserved;
+        } finally {
+            buyers.shutdownNow();
+        }
+    }
+
+    private Product createProduct(long quantity) {
+        String suffix = UUID.randomUUID().toString();
+        Product product = new Product();
+        product.setTitle("Product " + suffix);
+        product.setSlug("product-" + suffix);
+        product.setPriceNew(10_000L);
+        product.setQuantity(quantity);
+        return productRepository.save(product);
+    }
+}
@@ -0,0 +1,65 @@
+package com.pharmacy.backend.service;
+
+import com.pharmacy.backend.dto.response.ProductResponse;
+import com.pharmacy.backend.entity.Category;
+import com.pharmacy.backend.entity.Product;
+import com.pharmacy.backend.entity.ProductImage;
+import com.pharmacy.backend.repository.ProductImageRepository;
+import com.pharmacy.backend.support.StatementCounter;
+import com.pharmacy.backend.support.TestFixtures;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ProductDetailStatementCountTest {
+    private static final long MAX_STATEMENTS = 4;
+
+    @Autowired
+    private ProductService productService;
+    @Autowired
+    private ProductImageRepository productImageRepository;
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Test
+    void getProductBySlugRunsTheSameStatementsWhateverTheProductSize() {
+        String small = createProduct(1, 1);
+        String large = createProduct(12, 6);
+
+        StatementCounter.Result<ProductResponse> smallResult =
+                StatementCounter.measure(() -> productService.getProductBySlug(small).getData());
+        StatementCounter.Result<ProductResponse> largeResult =
+                StatementCounter.measure(() -> productService.getProductBySlug(large).getData());
+
+        assertThat(smallResult.value().getImages()).hasSize(1);
+        assertThat(largeResult.value().getImages()).hasSize(12);
+        assertThat(largeResult.value().getCategories()).hasSize(6);
+        assertThat(largeResult.statements()).isEqualTo(smallResult.statements());
+        assertThat(largeResult.statements()).isBetween(1L, MAX_STATEMENTS);
+    }
+
+    private String createProduct(int imageCount, int categoryCount) {
+        Category parent = fixtures.category(null);
+        List<Category> categories = new ArrayList<>();
+        for (int i = 0; i < categoryCount; i++) {
+            categories.add(fixtures.category(parent));
+        }
+        Product product = fixtures.product(fixtures.brand(), categories);
+
+        for (int i = 0; i < imageCount; i++) {
+            ProductImage image = new ProductImage();
+            image.setProduct(product);
+            image.setImageUuid(fixtures.file().getUuid().toString());
+            productImageRepository.save(image);
+        }
+        return product.getSlug();
+    }
+}
@@ -0,0 +1,131 @@
+package com.pharmacy.backend.service;
+
+import com.pharmacy.backend.dto.request.ProductCMSFilterRequest;
+import com.pharmacy.backend.entity.Brand;
+import com.pharmacy.backend.entity.Category;
+import com.pharmacy.backend.entity.FileMetadata;
+import com.pharmacy.backend.entity.Product;
+import com.pharmacy.backend.repository.FileMetadataRepository;
+import com.pharmacy.backend.repository.ProductRepository;
+import com.pharmacy.backend.specification.ProductSpecification;
+import com.pharmacy.backend.support.Benchmark;
+import com.pharmacy.backend.support.StatementCounter;
+import com.pharmacy.backend.support.TestFixtures;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the old one-lookup-per-row thumbnail resolution with the batched IN query for listing pages.
+ * Run with {@code mvn test -Dtest.excludedGroups= -Dgroups=benchmark}.
+ */
+@Slf4j
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ProductListingBenchmarkTest {
+    private static final int PRODUCTS = 200;
+    private static final int BRANDS = 20;
+    private static final int CATEGORIES = 10;
+    private static final int WARMUP = 50;
+    private static final int ITERATIONS = 300;
+
+    @Autowired
+    private ProductService productService;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private FileMetadataRepository fileMetadataRepository;
+    @Autowired
+    private TestFixtures fixtures;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate readOnly;
+
+    @BeforeAll
+    void seed() {
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        List<Brand> brands = new ArrayList<>();
+        for (int i = 0; i < BRANDS; i++) {
+            brands.add(fixtures.brand());
+        }
+        List<Category> categories = new ArrayList<>();
+        for (int i = 0; i < CATEGORIES; i++) {
+            categories.add(fixtures.category(null));
+        }
+        for (int i = 0; i < PRODUCTS; i++) {
+            fixtures.product(brands.get(i % BRANDS),
+                    List.of(categories.get(i % CATEGORIES), categories.get((i + 1) % CATEGORIES)));
+        }
+    }
+
+    @ParameterizedTest(name = "page size {0}")
+    @ValueSource(ints = {10, 50, 200})
+    void thumbnailResolution(int pageSize) {
+        Runnable perRow = () -> readOnly.executeWithoutResult(status -> resolvePerRow(pageSize));
+        Runnable batched = () -> readOnly.executeWithoutResult(status -> resolveBatched(pageSize));
+        Runnable listing = () -> productService.getAllCMSProduct(0, pageSize, new ProductCMSFilterRequest());
+
+        long perRowStatements = StatementCounter.count(perRow);
+        long batchedStatements = StatementCounter.count(batched);
+        long listingStatements = StatementCounter.count(listing);
+        Benchmark.Stats perRowStats = Benchmark.run(WARMUP, ITERATIONS, perRow);
+        Benchmark.Stats batchedStats = Benchmark.run(WARMUP, ITERATIONS, batched);
+        Benchmark.Stats listingStats = Benchmark.run(WARMUP, ITERATIONS, listing);
+
+        log.info("page={} per-row: {} statements, {}", pageSize, perRowStatements, perRowStats);
+        log.info("page={} batched: {} statements, {}", pageSize, batchedStatements, batchedStats);
+        log.info("page={} getAllCMSProduct: {} statements, {}", pageSize, listingStatements, listingStats);
+
+        assertThat(perRowStatements).isEqualTo(2 + pageSize);
+        assertThat(batchedStatements).isEqualTo(3);
+        assertThat(listingStatements).isLessThanOrEqualTo(4);
+        assertThat(StatementCounter.count(() -> productService.getAllCMSProduct(0, pageSize,
+                ProductCMSFilterRequest.builder().includeTotal(false).build()))).isLessThanOrEqualTo(3);
+    }
+
+    private void resolvePerRow(int pageSize) {
+        Map<String, String> urls = page(pageSize).stream()
+                .collect(Collectors.toMap(Product::getThumbnail, product -> fileMetadataRepository
+                        .findByUuid(UUID.fromString(product.getThumbnail()))
+                        .orElseThrow()
+                        .getUrl()));
+        assertThat(urls).hasSize(pageSize);
+    }
+
+    private void resolveBatched(int pageSize) {
+        List<UUID> uuids = page(pageSize).stream()
+                .map(product -> UUID.fromString(product.getThumbnail()))
+                .toList();
+        Map<UUID, String> urls = fileMetadataRepository.findAllByUuidIn(uuids).stream()
+                .collect(Collectors.toMap(FileMetadata::getUuid, FileMetadata::getUrl));
+        assertThat(urls).hasSize(pageSize);
+    }
+
+    private List<Product> page(int pageSize) {
+        return productRepository.findAll(ProductSpecification.hasActive(true), PageRequest.of(0, pageSize, Sort.by("id")))
+                .getContent();
+    }
+}
@@ -0,0 +1,202 @@
+package com.pharmacy.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pharmacy.backend.dto.response.ApiResponse;
+import com.pharmacy.backend.dto.response.ErrorResponse;
+import com.pharmacy.backend.dto.response.ProductResponse;
+import com.pharmacy.backend.dto.response.ProductSummaryResponse;
+import com.pharmacy.backend.entity.Brand;
+import com.pharmacy.backend.entity.Category;
+import com.pharmacy.backend.entity.Product;
+import com.pharmacy.backend.enums.CategoryTypeEnum;
+import com.pharmacy.backend.mapper.BrandMapper;
+import com.pharmacy.backend.mapper.CategoryMapper;
+import com.pharmacy.backend.mapper.ProductMapper;
+import com.pharmacy.backend.support.Benchmark;
+import lombok.extern.slf4j.Slf4j;
+import net.datafaker.Faker;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Measures the product list payload before and after the summary projection, with and without gzip,
+ * and the cost of building an ObjectMapper per 401 compared with the shared one.
+ * Run with {@code mvn test -Dtest.excludedGroups= -Dgroups=benchmark}.
+ */
+@Slf4j
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("test")
+class ProductPayloadBenchmarkTest {
+    private static final int PAGE_SIZE = 50;
+    private static final int WARMUP = 500;
+    private static final int ITERATIONS = 2000;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private ProductMapper productMapper;
+    @Autowired
+    private BrandMapper brandMapper;
+    @Autowired
+    private CategoryMapper categoryMapper;
+
+    @Test
+    void listPayloadSizeAndSerializationTime() {
+        List<Product> products = products();
+        ApiResponse<List<ProductResponse>> full = ApiResponse.buildResponse(HttpStatus.OK.value(),
+                "Lấy danh sách sản phẩm thành công", products.stream().map(this::toProductResponse).toList());
+        ApiResponse<List<ProductSummaryResponse>> summary = ApiResponse.buildResponse(HttpStatus.OK.value(),
+                "Lấy danh sách sản phẩm thành công", products.stream().map(this::toSummaryResponse).toList());
+
+        byte[] fullJson = serialize(full);
+        byte[] summaryJson = serialize(summary);
+        Benchmark.Stats fullStats = Benchmark.run(WARMUP, ITERATIONS, () -> serialize(full));
+        Benchmark.Stats summaryStats = Benchmark.run(WARMUP, ITERATIONS, () -> serialize(summary));
+
+        log.info("ProductResponse x{}: {} bytes, {} gzipped, serialize {}",
+                PAGE_SIZE, fullJson.length, gzip(fullJson).length, fullStats);
+        log.info("ProductSummaryResponse x{}: {} bytes, {} gzipped, serialize {}",
+                PAGE_SIZE, summaryJson.length, gzip(summaryJson).length, summaryStats);
+
+        assertThat(summaryJson.length).isLessThan(fullJson.length / 2);
+        assertThat(gzip(summaryJson).length).isLessThan(summaryJson.length / 2);
+    }
+
+    @Test
+    void sharedObjectMapperVersusOnePerResponse() {
+        ErrorResponse error = ErrorResponse.builder()
+                .status(HttpStatus.UNAUTHORIZED.value())
+                .error(HttpStatus.UNAUTHORIZED.getReasonPhrase())
+                .message("Truy cập trái phép - vui lòng đăng nhập hoặc cung cấp thông tin đăng nhập hợp lệ.")
+                .path("/api/v1/cart")
+                .timestamp(LocalDateTime.now())
+                .build();
+
+        Benchmark.Stats perResponse = Benchmark.run(WARMUP, ITERATIONS,
+                () -> write(new ObjectMapper().findAndRegisterModules(), error));
+        Benchmark.Stats shared = Benchmark.run(WARMUP, ITERATIONS, () -> write(objectMapper, error));
+
+        log.info("401 body, new ObjectMapper per response: {}", perResponse);
+        log.info("401 body, shared ObjectMapper: {}", shared);
+
+        assertThat(shared.meanMillis()).isLessThan(perResponse.meanMillis());
+    }
+
+    private ProductResponse toProductResponse(Product product) {
+        ProductResponse response = productMapper.toProductResponse(product);
+        response.setBrand(brandMapper.toBrandResponse(product.getBrand()));
+        response.setCategories(product.getCategories().stream().map(categoryMapper::toCategoryResponse).toList());
+        response.setThumbnailUrl("https://res.cloudinary.com/pharmacy/image/upload/product/" + product.getThumbnail());
+        response.setThumbnailVariants(variants(product));
+        response.setInWishlist(false);
+        return response;
+    }
+
+    private ProductSummaryResponse toSummaryResponse(Product product) {
+        ProductSummaryResponse response = productMapper.toProductSummaryResponse(product);
+        response.setBrand(brandMapper.toBrandResponse(product.getBrand()));
+        response.setThumbnailUrl("https://res.cloudinary.com/pharmacy/image/upload/product/" + product.getThumbnail());
+        response.setThumbnailVariants(variants(product));
+        response.setInWishlist(false);
+        return response;
+    }
+
+    private Map<String, String> variants(Product product) {
+        String base = "https://res.cloudinary.com/pharmacy/image/upload/";
+        return Map.of("320", base + "w_320/product/" + product.getThumbnail(),
+                "640", base + "w_640/product/" + product.getThumbnail(),
+                "1024", base + "w_1024/product/" + product.getThumbnail());
+    }
+
+    private List<Product> products() {
+        Faker faker = new Faker(new Random(42));
+        Brand brand = new Brand();
+        brand.setId(1L);
+        brand.setName("Pharmacy Brand");
+        brand.setSlug("pharmacy-brand");
+        brand.setDescription(faker.lorem().sentence(20));
+
+        List<Category> categories = new ArrayList<>();
+        for (long i = 1; i <= 2; i++) {
+            Category category = new Category();
+            category.setId(i);
+            category.setName(faker.commerce().department());
+            category.setSlug("category-" + i);
+            category.setType(CategoryTypeEnum.PRODUCT);
+            categories.add(category);
+        }
+
+        List<Product> products = new ArrayList<>();
+        for (long i = 1; i <= PAGE_SIZE; i++) {
+            Product product = new Product();
+            product.setId(i);
+            product.setTitle(faker.commerce().productName());
+            product.setSlug("product-" + i);
+            product.setThumbnail(new UUID(i, i).toString());
+            product.setPriceOld(120_000L);
+            product.setPriceNew(99_000L);
+            product.setQuantity(100L);
+            product.setManufacturer(faker.company().name());
+            product.setType("Hộp");
+            product.setRegistrationNumber("VD-" + (10_000 + i) + "-19");
+            product.setActiveIngredient(faker.lorem().word());
+            product.setDosageForm("Viên nén");
+            product.setNoted(faker.lorem().paragraph(3));
+            product.setIndication(faker.lorem().paragraph(8));
+            product.setDescription(html(faker));
+            product.setBrand(brand);
+            product.setCategories(categories);
+            products.add(product);
+        }
+        return products;
+    }
+
+    private String html(Faker faker) {
+        StringBuilder html = new StringBuilder();
+        for (int i = 0; i < 8; i++) {
+            html.append("<h3>").append(faker.lorem().sentence(4)).append("</h3>")
+                    .append("<p>").append(faker.lorem().paragraph(6)).append("</p>");
+        }
+        return html.toString();
+    }
+
+    private byte[] serialize(Object value) {
+        return write(objectMapper, value);
+    }
+
+    private static byte[] write(ObjectMapper mapper, Object value) {
+        try {
+            return mapper.writeValueAsBytes(value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,39 @@
+package com.pharmacy.backend.support;
+
+import java.util.Arrays;
+
+/**
+ * Minimal wall-clock harness for the {@code benchmark}-tagged tests: runs a warm-up, then times each
+ * measured iteration and reports mean and percentiles in milliseconds.
+ */
+public final class Benchmark {
+    private Benchmark() {
+    }
+
+    public static Stats run(int warmup, int iterations, Runnable action) {
+        for (int i = 0; i < warmup; i++) {
+            action.run();
+        }
+        long[] nanos = new long[iterations];
+        for (int i = 0; i < iterations; i++) {
+            long start = System.nanoTime();
+            action.run();
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        return new Stats(Arrays.stream(nanos).average().orElse(0) / 1_000_000.0,
+                percentile(nanos, 0.50), percentile(nanos, 0.99));
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(index, 0)] / 1_000_000.0;
+    }
+
+    public record Stats(double meanMillis, double p50Millis, double p99Millis) {
+        @Override
+        public String toString() {
+            return String.format("mean %.2f ms, p50 %.2f ms, p99 %.2f ms", meanMillis, p50Millis, p99Millis);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.pharmacy.backend.support;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.function.Supplier;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the calling thread, so background
+ * schedulers running against the same database do not disturb the assertions.
+ * Registered through {@code hibernate.session_factory.statement_inspector} in the test profile.
+ */
+public class StatementCounter implements StatementInspector {
+    private static final ThreadLocal<long[]> COUNT = ThreadLocal.withInitial(() -> new long[1]);
+
+    @Override
+    public String inspect(String sql) {
+        COUNT.get()[0]++;
+        return sql;
+    }
+
+    public static long count(Runnable action) {
+        return measure(() -> {
+            action.run();
+            return null;
+        }).statements();
+    }
+
+    public static <T> Result<T> measure(Supplier<T> action) {
+        long before = COUNT.get()[0];
+        T value = action.get();
+        return new Result<>(value, COUNT.get()[0] - before);
+    }
+
+    public record Result<T>(T value, long statements) {
+    }
+}
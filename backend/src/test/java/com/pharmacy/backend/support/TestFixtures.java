@@ -0,0 +1,72 @@
+package com.pharmacy.backend.support;
+
+import com.pharmacy.backend.entity.Brand;
+import com.pharmacy.backend.entity.Category;
+import com.pharmacy.backend.entity.FileMetadata;
+import com.pharmacy.backend.entity.Product;
+import com.pharmacy.backend.enums.CategoryTypeEnum;
+import com.pharmacy.backend.repository.BrandRepository;
+import com.pharmacy.backend.repository.CategoryRepository;
+import com.pharmacy.backend.repository.FileMetadataRepository;
+import com.pharmacy.backend.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Persists catalog rows with unique names and slugs so tests sharing one context do not collide.
+ */
+@Component
+@RequiredArgsConstructor
+public class TestFixtures {
+    private final FileMetadataRepository fileMetadataRepository;
+    private final BrandRepository brandRepository;
+    private final CategoryRepository categoryRepository;
+    private final ProductRepository productRepository;
+
+    public FileMetadata file() {
+        String storedFileName = UUID.randomUUID() + ".jpg";
+        return fileMetadataRepository.save(FileMetadata.builder()
+                .originalFileName("image.jpg")
+                .storedFileName(storedFileName)
+                .url("/files/" + storedFileName)
+                .fileExtension("jpg")
+                .fileSize(1L)
+                .contentType("image/jpeg")
+                .fileType("PRODUCT")
+                .build());
+    }
+
+    public Brand brand() {
+        String suffix = UUID.randomUUID().toString();
+        Brand brand = new Brand();
+        brand.setName("Brand " + suffix);
+        brand.setSlug("brand-" + suffix);
+        return brandRepository.save(brand);
+    }
+
+    public Category category(Category parent) {
+        String suffix = UUID.randomUUID().toString();
+        Category category = new Category();
+        category.setName("Category " + suffix);
+        category.setSlug("category-" + suffix);
+        category.setType(CategoryTypeEnum.PRODUCT);
+        category.setParent(parent);
+        return categoryRepository.save(category);
+    }
+
+    public Product product(Brand brand, List<Category> categories) {
+        String suffix = UUID.randomUUID().toString();
+        Product product = new Product();
+        product.setTitle("Product " + suffix);
+        product.setSlug("product-" + suffix);
+        product.setPriceNew(10_000L);
+        product.setQuantity(100L);
+        product.setBrand(brand);
+        product.setCategories(categories);
+        product.setThumbnail(file().getUuid().toString());
+        return productRepository.save(product);
+    }
+}